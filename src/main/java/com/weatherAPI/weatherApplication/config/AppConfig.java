@@ -4,11 +4,16 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import com.weatherAPI.weatherApplication.service.BikeFeedParser;
+
 @Configuration
 public class AppConfig {
 
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        RestTemplate restTemplate = new RestTemplate();
+        // Parse the Bicycle feed with the streaming parser before the generic Jackson converter sees it
+        restTemplate.getMessageConverters().add(0, new BikeFeedMessageConverter(new BikeFeedParser()));
+        return restTemplate;
     }
 }
@@ -0,0 +1,50 @@
+package com.weatherAPI.weatherApplication.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+
+import com.weatherAPI.weatherApplication.model.BikeApiResponse;
+import com.weatherAPI.weatherApplication.service.BikeFeedParser;
+
+/**
+ * Reads {@link BikeApiResponse} bodies with the streaming {@link BikeFeedParser} instead of the
+ * generic Jackson data binding. Read-only: the application never sends this type.
+ */
+public class BikeFeedMessageConverter extends AbstractHttpMessageConverter<BikeApiResponse> {
+
+    private final BikeFeedParser parser;
+
+    /**
+     * Constructor to inject the {@link BikeFeedParser} dependency.
+     *
+     * @param parser the parser used to read response bodies
+     */
+    public BikeFeedMessageConverter(BikeFeedParser parser) {
+        super(MediaType.APPLICATION_JSON);
+        this.parser = parser;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return BikeApiResponse.class == clazz;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected BikeApiResponse readInternal(Class<? extends BikeApiResponse> clazz, HttpInputMessage inputMessage) throws IOException {
+        return parser.parse(inputMessage.getBody());
+    }
+
+    @Override
+    protected void writeInternal(BikeApiResponse response, HttpOutputMessage outputMessage) {
+        throw new UnsupportedOperationException("Writing the Bicycle feed is not supported");
+    }
+}
@@ -3,14 +3,15 @@ package com.weatherAPI.weatherApplication.controller;
 import com.weatherAPI.weatherApplication.model.BikeData;
 import com.weatherAPI.weatherApplication.model.BikeTrend;
 import com.weatherAPI.weatherApplication.model.BikeTypeDetails;
+import com.weatherAPI.weatherApplication.model.CacheStats;
 import com.weatherAPI.weatherApplication.service.BikeService;
+import com.weatherAPI.weatherApplication.service.BikeTypeProjection;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -52,6 +53,16 @@ public class BikeController {
         return bikeService.getTrends();
     }
 
+    /**
+     * Retrieves the hit, miss and load counters of the bike snapshot cache.
+     *
+     * @return a {@link CacheStats} snapshot
+     */
+    @GetMapping("/cache/stats")
+    public CacheStats getCacheStats() {
+        return bikeService.getSnapshotCacheStats();
+    }
+
     /**
      * Retrieves details of bike stations.
      *
@@ -65,42 +76,11 @@ public class BikeController {
     /**
      * Retrieves details of bike types available at various stations.
      *
-     * @return a list of {@link BikeTypeDetails} objects containing bike type details
+     * @return a list of {@link BikeTypeDetails} objects containing bike type details, written from the
+     *         JSON kept by the {@link BikeTypeProjection} of the current snapshot
      */
     @GetMapping("/types")
-    public List<BikeTypeDetails> getBikeTypeDetails() {
-        List<BikeData> bikeDataList = bikeService.getBikeData();
-        List<BikeTypeDetails> bikeTypeDetailsList = new ArrayList<>();
-
-        for (BikeData bikeData : bikeDataList) {
-            if (hasValidMetadata(bikeData)) {
-                bikeTypeDetailsList.add(mapToBikeTypeDetails(bikeData));
-            }
-        }
-        return bikeTypeDetailsList;
-    }
-
-    /**
-     * Checks if a {@link BikeData} object has valid metadata.
-     *
-     * @param bikeData the bike data to validate
-     * @return {@code true} if metadata is valid, {@code false} otherwise
-     */
-    private boolean hasValidMetadata(BikeData bikeData) {
-        return bikeData.getMetadata() != null && bikeData.getMetadata().getBikes() != null;
-    }
-
-    /**
-     * Maps a {@link BikeData} object to a {@link BikeTypeDetails} object.
-     *
-     * @param bikeData the bike data to map
-     * @return a {@link BikeTypeDetails} object containing bike type details
-     */
-    private BikeTypeDetails mapToBikeTypeDetails(BikeData bikeData) {
-        BikeTypeDetails details = new BikeTypeDetails();
-        details.setStationName(bikeData.getStationName());
-        details.setBikeTypes(bikeData.getMetadata().getBikes());
-        details.setMunicipality(bikeData.getMetadata().getMunicipality());
-        return details;
+    public BikeTypeProjection getBikeTypeDetails() {
+        return bikeService.getBikeTypeDetails();
     }
 }
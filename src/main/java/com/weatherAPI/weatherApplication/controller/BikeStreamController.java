@@ -0,0 +1,49 @@
+package com.weatherAPI.weatherApplication.controller;
+
+import com.weatherAPI.weatherApplication.service.BikeAvailabilityStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming bike availability changes as Server-Sent Events.
+ *
+ * <p>Instead of polling {@code /api/bikes/stations}, clients subscribe once and receive only the
+ * stations whose number of available bikes changed after each ingest. See
+ * {@link BikeAvailabilityStream}.</p>
+ */
+@RestController
+@RequestMapping("/api/bikes")
+@CrossOrigin(origins = "http://localhost:3000")
+public class BikeStreamController {
+
+    private final BikeAvailabilityStream availabilityStream;
+
+    /**
+     * Constructor to inject the {@link BikeAvailabilityStream} dependency.
+     *
+     * @param availabilityStream the stream of bike availability changes
+     */
+    @Autowired
+    public BikeStreamController(BikeAvailabilityStream availabilityStream) {
+        this.availabilityStream = availabilityStream;
+    }
+
+    /**
+     * Subscribes to bike availability changes. Browsers' {@code EventSource} sends the
+     * {@code Last-Event-ID} header when reconnecting, so missed changes are replayed.
+     *
+     * @param lastEventId the id of the last event the client received, if any
+     * @return the event stream
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return availabilityStream.subscribe(lastEventId);
+    }
+}
@@ -1,14 +1,19 @@
 package com.weatherAPI.weatherApplication.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.weatherAPI.weatherApplication.service.RecommendationService;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
 
 @RestController
@@ -17,21 +22,92 @@ public class RecommendationController {
 
     private final RecommendationService recommendationService;
 
+    private final ObjectMapper objectMapper;
+
     @Autowired
-    public RecommendationController(RecommendationService recommendationService) {
+    public RecommendationController(RecommendationService recommendationService, ObjectMapper objectMapper) {
         this.recommendationService = recommendationService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Endpoint to get one page of bike and weather recommendations.
+     *
+     * Example: /api/recommendations?limit=50&neighbors=5&cursor=120
+     *
+     * @param cursor    The nextCursor of the previous page; omitted for the first page.
+     * @param limit     The maximum number of bike stations on the page.
+     * @param neighbors The number of nearest bike stations listed per station.
+     * @return Weather data, the bike stations of the page with distances, and the cursor of the next page.
+     */
+    @GetMapping("/recommendations")
+    public Map<String, Object> getRecommendations(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "50") int limit,
+                                                  @RequestParam(defaultValue = "5") int neighbors) {
+        return recommendationService.getBikeWeatherRecommendations(cursor, limit, neighbors);
     }
 
     /**
-     * Endpoint to get distances from a weather station to nearby bike stations.
+     * Endpoint to stream the recommendation entry of every bike station as newline-delimited JSON,
+     * one station per line, without building the whole response in memory.
+     *
+     * Example: /api/recommendations/stream?neighbors=5
+     *
+     * @param cursor    The station id of the last entry already received; omitted to start at the first.
+     * @param neighbors The number of nearest bike stations listed per station.
+     * @return The streamed response body.
+     */
+    @GetMapping(value = "/recommendations/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamRecommendations(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "5") int neighbors) {
+        return outputStream -> {
+            try {
+                recommendationService.forEachBikeWeatherRecommendation(cursor, neighbors, entry -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(entry));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    /**
+     * Endpoint to get distances from a weather station to nearby bike stations, closest first.
      * 
-     * Example: /api/weather-to-bike-distances?weatherStationName=Pustertal
+     * Example: /api/weather-to-bike-distances?weatherStationName=Pustertal&k=5&radiusKm=20
      *
-     * @param weatherStationName The name of the weather station.
+     * @param weatherStationName The name of the weather district, or a case-insensitive alias such as "meran".
+     * @param k                  The maximum number of bike stations to return; all if omitted.
+     * @param radiusKm           The maximum distance in kilometers; unlimited if omitted.
      * @return Distances to nearby bike stations.
      */
     @GetMapping("/weather-to-bike-distances")
-    public Map<String, Object> getDistancesToBikeStations(@RequestParam String weatherStationName) {
-        return recommendationService.getDistancesToBikeStations(weatherStationName);
+    public Map<String, Object> getDistancesToBikeStations(@RequestParam String weatherStationName,
+                                                          @RequestParam(required = false) Integer k,
+                                                          @RequestParam(required = false) Double radiusKm) {
+        return recommendationService.getDistancesToBikeStations(weatherStationName, k, radiusKm);
+    }
+
+    /**
+     * Endpoint to get the best bike stations around a weather district, ranked by available bikes,
+     * distance and the district's forecast for the day.
+     *
+     * Example: /api/ranked-recommendations?weatherStationName=Pustertal&k=10&radiusKm=20
+     *
+     * @param weatherStationName The name of the weather district, or a case-insensitive alias.
+     * @param k                  The number of bike stations to return.
+     * @param radiusKm           The maximum distance in kilometers; unlimited if omitted.
+     * @return The district, its forecast and the best bike stations, best first.
+     */
+    @GetMapping("/ranked-recommendations")
+    public Map<String, Object> getRankedRecommendations(@RequestParam String weatherStationName,
+                                                        @RequestParam(defaultValue = "10") int k,
+                                                        @RequestParam(required = false) Double radiusKm) {
+        return recommendationService.getRankedBikeStations(weatherStationName, k, radiusKm);
     }
 }
\ No newline at end of file
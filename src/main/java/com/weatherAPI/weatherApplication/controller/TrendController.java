@@ -1,14 +1,25 @@
 package com.weatherAPI.weatherApplication.controller;
 
 import com.weatherAPI.weatherApplication.model.BikeTrend;
+import com.weatherAPI.weatherApplication.model.RollupResolution;
+import com.weatherAPI.weatherApplication.model.StationRollups;
+import com.weatherAPI.weatherApplication.model.StationTrendSeries;
+import com.weatherAPI.weatherApplication.model.TrendStoreStats;
 import com.weatherAPI.weatherApplication.service.BikeService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 /**
  * REST controller for managing bike trend data.
  * 
@@ -41,4 +52,72 @@ public class TrendController {
     public List<BikeTrend> getStandaloneTrends() {
         return bikeService.getTrends();
     }
+
+    /**
+     * Retrieves trends downsampled into time buckets with the minimum, maximum and average number of
+     * available bikes per bucket, e.g. {@code /api/trends/query?station=Bolzano&from=2025-01-06T00:00:00&bucket=PT15M}.
+     *
+     * @param station the station name; all stations if omitted
+     * @param from    the start of the range (ISO date-time), inclusive; the oldest trend if omitted
+     * @param to      the end of the range (ISO date-time), inclusive; the newest trend if omitted
+     * @param bucket  the bucket size as an ISO-8601 duration, one hour by default
+     * @return one {@link StationTrendSeries} per station with trends in range
+     */
+    @GetMapping("/trends/query")
+    public List<StationTrendSeries> queryTrends(
+            @RequestParam(required = false) String station,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "PT1H") Duration bucket) {
+        if (bucket.getSeconds() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bucket size must be at least one second.");
+        }
+        checkRange(from, to);
+        return bikeService.queryTrends(station, from, to, bucket);
+    }
+
+    /**
+     * Retrieves hourly or daily availability aggregates (count, min, max, sum and last) per station,
+     * e.g. {@code /api/trends/rollups?station=Bolzano&resolution=day}.
+     *
+     * @param station    the station name; all stations if omitted
+     * @param resolution {@code hour} (default) or {@code day}
+     * @param from       the earliest bucket start (ISO date-time), inclusive; the oldest bucket if omitted
+     * @param to         the latest bucket start (ISO date-time), inclusive; the newest bucket if omitted
+     * @return one {@link StationRollups} per station with buckets in range
+     */
+    @GetMapping("/trends/rollups")
+    public List<StationRollups> getRollups(
+            @RequestParam(required = false) String station,
+            @RequestParam(defaultValue = "hour") String resolution,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        RollupResolution rollupResolution = parseResolution(resolution);
+        checkRange(from, to);
+        return bikeService.getRollups(station, rollupResolution, from, to);
+    }
+
+    private static void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The start of the range cannot be after its end.");
+        }
+    }
+
+    private static RollupResolution parseResolution(String resolution) {
+        try {
+            return RollupResolution.valueOf(resolution.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown resolution '" + resolution + "', expected hour or day.");
+        }
+    }
+
+    /**
+     * Retrieves the size and eviction counters of the trend store.
+     *
+     * @return a {@link TrendStoreStats} snapshot
+     */
+    @GetMapping("/trends/stats")
+    public TrendStoreStats getTrendStats() {
+        return bikeService.getTrendStats();
+    }
 }
@@ -1,7 +1,10 @@
 package com.weatherAPI.weatherApplication.controller;
 
+import com.weatherAPI.weatherApplication.model.CacheStats;
 import com.weatherAPI.weatherApplication.model.UserPreferences;
 import com.weatherAPI.weatherApplication.model.WeatherData;
+import com.weatherAPI.weatherApplication.model.WeatherRecommendation;
+import com.weatherAPI.weatherApplication.model.WeatherTrend;
 import com.weatherAPI.weatherApplication.service.WeatherService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
@@ -23,13 +26,18 @@ public class WeatherController {
         return weatherService.getWeatherData();
     }
 
+    @GetMapping("/weather/cache/stats")
+    public CacheStats getWeatherCacheStats() {
+        return weatherService.getSnapshotCacheStats();
+    }
+
     @GetMapping("/weather-trends")
-    public List<Map<String, Object>> getWeatherTrends() {
+    public List<WeatherTrend> getWeatherTrends() {
         return weatherService.getWeatherTrends();
     }
 
     @PostMapping("/recommendations")
-    public List<Map<String, Object>> getRecommendations(@RequestBody UserPreferences userPreferences) {
+    public List<WeatherRecommendation> getRecommendations(@RequestBody UserPreferences userPreferences) {
         return weatherService.getRecommendations(userPreferences);
     }
     
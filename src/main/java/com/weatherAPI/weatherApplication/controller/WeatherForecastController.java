@@ -1,10 +1,12 @@
 package com.weatherAPI.weatherApplication.controller;
 
+import com.weatherAPI.weatherApplication.model.DistrictForecast;
 import com.weatherAPI.weatherApplication.service.WeatherForecastService;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
-import java.util.Map;
 /**
  * REST controller for managing weather forecasts.
  * 
@@ -31,14 +33,15 @@ public class WeatherForecastController {
      * Retrieves the weather forecast for a specific day across all stations.
      *
      * @param day the day for which the forecast is requested (e.g., "Monday")
-     * @return a list of maps containing the forecast details, or a message if no data is available
+     * @return a list of {@link DistrictForecast} records
+     * @throws ResponseStatusException with status 404 if no data is available for the day
      */
     @GetMapping("/forecast")
-    public List<Map<String, Object>> getWeatherForecastForDay(@RequestParam String day) {
-        List<Map<String, Object>> weatherForecasts = weatherForecastService.getWeatherForecastForAllStations(day);
+    public List<DistrictForecast> getWeatherForecastForDay(@RequestParam String day) {
+        List<DistrictForecast> weatherForecasts = weatherForecastService.getWeatherForecastForAllStations(day);
 
         if (weatherForecasts.isEmpty()) {
-            return List.of(Map.of("message", "No weather data found for the given day."));
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No weather data found for the given day.");
         }
 
         return weatherForecasts;
@@ -8,6 +8,9 @@ public class BikeApiResponse {
     @JsonProperty("offset")
     private int offset;
 
+    @JsonProperty("limit")
+    private int limit;
+
     @JsonProperty("data")
     private List<BikeData> data;
 
@@ -19,6 +22,14 @@ public class BikeApiResponse {
         this.offset = offset;
     }
 
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
     public List<BikeData> getData() {
         return data;
     }
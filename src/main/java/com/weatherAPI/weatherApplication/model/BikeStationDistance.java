@@ -0,0 +1,11 @@
+package com.weatherAPI.weatherApplication.model;
+
+/**
+ * Distance from a weather station to a bike station.
+ *
+ * @param bikeStationName the bike station name
+ * @param distance        the distance in kilometers, rounded to whole kilometers
+ * @param availableBikes  the number of available bikes at the bike station
+ */
+public record BikeStationDistance(String bikeStationName, double distance, int availableBikes) {
+}
@@ -0,0 +1,10 @@
+package com.weatherAPI.weatherApplication.model;
+
+/**
+ * Distance from a bike station to one of its nearest bike stations.
+ *
+ * @param stationName the neighboring station name
+ * @param distance    the distance in kilometers, rounded to whole kilometers
+ */
+public record BikeStationNeighbor(String stationName, double distance) {
+}
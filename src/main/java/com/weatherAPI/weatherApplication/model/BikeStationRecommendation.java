@@ -0,0 +1,20 @@
+package com.weatherAPI.weatherApplication.model;
+
+import java.util.List;
+
+/**
+ * A bike station with its distances to every weather district and to its nearest bike stations.
+ *
+ * @param stationId                  the stable station id
+ * @param stationName                the station name
+ * @param availableBikes             the number of available bikes
+ * @param latitude                   the station latitude
+ * @param longitude                  the station longitude
+ * @param distancesToWeatherStations the distance to every weather district
+ * @param distancesToBikeStations    the nearest other bike stations, closest first
+ */
+public record BikeStationRecommendation(int stationId, String stationName, int availableBikes,
+                                        double latitude, double longitude,
+                                        List<WeatherStationDistance> distancesToWeatherStations,
+                                        List<BikeStationNeighbor> distancesToBikeStations) {
+}
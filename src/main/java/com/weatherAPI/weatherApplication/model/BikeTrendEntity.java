@@ -0,0 +1,104 @@
+package com.weatherAPI.weatherApplication.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Persisted form of a {@link BikeTrend}.
+ *
+ * <p>Ids come from a pooled sequence rather than an identity column, so Hibernate can assign them
+ * without a round trip per row and send inserts as JDBC batches.</p>
+ */
+@Entity
+@Table(name = "bike_trend", indexes = {
+        @Index(name = "idx_bike_trend_recorded_at", columnList = "recorded_at")
+})
+public class BikeTrendEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bike_trend_seq")
+    @SequenceGenerator(name = "bike_trend_seq", sequenceName = "bike_trend_seq", allocationSize = 100)
+    private Long id;
+
+    @Column(name = "station_name", nullable = false)
+    private String stationName;
+
+    @Column(name = "available_bikes")
+    private Integer availableBikes;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(name = "latitude")
+    private double latitude;
+
+    @Column(name = "longitude")
+    private double longitude;
+
+    public BikeTrendEntity() {
+    }
+
+    public BikeTrendEntity(BikeTrend trend) {
+        this.stationName = trend.getStationName();
+        this.availableBikes = trend.getAvailableBikes();
+        this.timestamp = trend.getTimestamp();
+        this.latitude = trend.getLatitude();
+        this.longitude = trend.getLongitude();
+    }
+
+    public BikeTrend toTrend() {
+        return new BikeTrend(stationName, availableBikes, timestamp, latitude, longitude);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getStationName() {
+        return stationName;
+    }
+
+    public void setStationName(String stationName) {
+        this.stationName = stationName;
+    }
+
+    public Integer getAvailableBikes() {
+        return availableBikes;
+    }
+
+    public void setAvailableBikes(Integer availableBikes) {
+        this.availableBikes = availableBikes;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+}
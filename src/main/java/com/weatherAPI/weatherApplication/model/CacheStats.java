@@ -0,0 +1,20 @@
+package com.weatherAPI.weatherApplication.model;
+
+import java.time.Duration;
+
+/**
+ * Counters of a snapshot cache, used to tune its time-to-live against freshness needs.
+ *
+ * @param hits              requests served from a fresh value
+ * @param staleHits         requests served from an expired value while a refresh ran in the background
+ * @param misses            requests that had to wait for a load
+ * @param loads             loads started, successful or not
+ * @param loadFailures      loads that failed
+ * @param averageLoadMillis the average duration of a load
+ * @param lastLoadMillis    the duration of the most recent load
+ * @param ageMillis         the age of the cached value, or -1 if nothing has been loaded yet
+ * @param ttl               the configured time-to-live
+ */
+public record CacheStats(long hits, long staleHits, long misses, long loads, long loadFailures,
+                         double averageLoadMillis, double lastLoadMillis, long ageMillis, Duration ttl) {
+}
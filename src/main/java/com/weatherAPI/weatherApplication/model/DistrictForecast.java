@@ -0,0 +1,27 @@
+package com.weatherAPI.weatherApplication.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The forecast of one weather station for a requested day.
+ *
+ * @param weatherDescription the weather description
+ * @param maxTemp            the maximum temperature
+ * @param minTemp            the minimum temperature
+ * @param freeze             the freezing level
+ * @param rainFrom           the lower bound of the expected rain
+ * @param rainTo             the upper bound of the expected rain
+ * @param thunderstorm       the thunderstorm probability
+ * @param stationName        the weather station name
+ * @param requestedDay       the requested day
+ */
+public record DistrictForecast(@JsonProperty("WeatherDesc") String weatherDescription,
+                               @JsonProperty("MaxTemp") Integer maxTemp,
+                               @JsonProperty("MinTemp") Integer minTemp,
+                               @JsonProperty("Freeze") Integer freeze,
+                               @JsonProperty("RainFrom") Integer rainFrom,
+                               @JsonProperty("RainTo") Integer rainTo,
+                               @JsonProperty("Thunderstorm") String thunderstorm,
+                               String stationName,
+                               String requestedDay) {
+}
@@ -0,0 +1,39 @@
+package com.weatherAPI.weatherApplication.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One district of the weather API response, as bound by Jackson. Numbers sent as strings are coerced
+ * to the component types.
+ *
+ * @param forecasts the daily forecasts of the district
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record DistrictForecastResponse(@JsonProperty("BezirksForecast") List<Day> forecasts) {
+
+    /**
+     * The forecast of a district for one day.
+     *
+     * @param date               the forecast date
+     * @param weatherDescription the weather description
+     * @param maxTemp            the maximum temperature
+     * @param minTemp            the minimum temperature
+     * @param freeze             the freezing level
+     * @param rainFrom           the lower bound of the expected rain
+     * @param rainTo             the upper bound of the expected rain
+     * @param thunderstorm       the thunderstorm probability
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Day(@JsonProperty("date") String date,
+                      @JsonProperty("WeatherDesc") String weatherDescription,
+                      @JsonProperty("MaxTemp") Integer maxTemp,
+                      @JsonProperty("MinTemp") Integer minTemp,
+                      @JsonProperty("Freeze") Integer freeze,
+                      @JsonProperty("RainFrom") Integer rainFrom,
+                      @JsonProperty("RainTo") Integer rainTo,
+                      @JsonProperty("Thunderstorm") String thunderstorm) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.weatherAPI.weatherApplication.model;
+
+/**
+ * A bike station ranked for a weather district.
+ *
+ * @param stationId      the stable station id
+ * @param stationName    the station name
+ * @param availableBikes the number of available bikes
+ * @param distance       the distance from the district in kilometers, rounded to one decimal
+ * @param score          the ranking score; higher is better
+ */
+public record RankedBikeStation(int stationId, String stationName, int availableBikes, double distance, double score) {
+}
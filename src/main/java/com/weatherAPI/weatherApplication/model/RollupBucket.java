@@ -0,0 +1,16 @@
+package com.weatherAPI.weatherApplication.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Availability aggregates of one station over one hour or day.
+ *
+ * @param start the start of the bucket
+ * @param count the number of samples
+ * @param min   the lowest number of available bikes
+ * @param max   the highest number of available bikes
+ * @param sum   the sum of available bikes over all samples, for averages across buckets
+ * @param last  the most recent number of available bikes
+ */
+public record RollupBucket(LocalDateTime start, int count, int min, int max, long sum, int last) {
+}
@@ -0,0 +1,25 @@
+package com.weatherAPI.weatherApplication.model;
+
+import java.time.Duration;
+
+/**
+ * Time resolution of availability rollups.
+ */
+public enum RollupResolution {
+
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+
+    private final Duration bucketSize;
+
+    RollupResolution(Duration bucketSize) {
+        this.bucketSize = bucketSize;
+    }
+
+    /**
+     * @return the time span covered by one rollup bucket
+     */
+    public Duration getBucketSize() {
+        return bucketSize;
+    }
+}
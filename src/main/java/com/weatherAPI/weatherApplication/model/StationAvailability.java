@@ -0,0 +1,29 @@
+package com.weatherAPI.weatherApplication.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Number of available bikes at a station, as pushed to stream subscribers. Subscribers should key
+ * stations by {@code stationId}: a station that moves, or two stations sharing a name, have distinct ids.
+ *
+ * @param stationId      the stable id of the station, by name and coordinates
+ * @param stationName    the station name
+ * @param availableBikes the number of available bikes
+ * @param latitude       the station latitude
+ * @param longitude      the station longitude
+ * @param removed        whether the station has dropped out of the feed; only serialized when true
+ */
+public record StationAvailability(int stationId, String stationName, int availableBikes, double latitude, double longitude,
+                                  @JsonInclude(JsonInclude.Include.NON_DEFAULT) boolean removed) {
+
+    public StationAvailability(int stationId, String stationName, int availableBikes, double latitude, double longitude) {
+        this(stationId, stationName, availableBikes, latitude, longitude, false);
+    }
+
+    /**
+     * Returns the entry announcing that this station is no longer in the feed, with no bikes available.
+     */
+    public StationAvailability asRemoved() {
+        return new StationAvailability(stationId, stationName, 0, latitude, longitude, true);
+    }
+}
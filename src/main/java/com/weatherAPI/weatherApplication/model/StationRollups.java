@@ -0,0 +1,13 @@
+package com.weatherAPI.weatherApplication.model;
+
+import java.util.List;
+
+/**
+ * Availability rollups of a station at one resolution.
+ *
+ * @param stationName the station name
+ * @param resolution  the resolution of the buckets
+ * @param buckets     the buckets with samples, oldest first
+ */
+public record StationRollups(String stationName, RollupResolution resolution, List<RollupBucket> buckets) {
+}
@@ -0,0 +1,14 @@
+package com.weatherAPI.weatherApplication.model;
+
+import java.util.List;
+
+/**
+ * Downsampled bike availability history of a station.
+ *
+ * @param stationName the station name
+ * @param latitude    the station latitude
+ * @param longitude   the station longitude
+ * @param buckets     the non-empty buckets, oldest first
+ */
+public record StationTrendSeries(String stationName, double latitude, double longitude, List<TrendBucket> buckets) {
+}
@@ -0,0 +1,15 @@
+package com.weatherAPI.weatherApplication.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated bike availability of one station over one time bucket.
+ *
+ * @param start   the start of the bucket
+ * @param samples the number of samples in the bucket
+ * @param min     the lowest number of available bikes
+ * @param max     the highest number of available bikes
+ * @param average the average number of available bikes over the samples
+ */
+public record TrendBucket(LocalDateTime start, int samples, int min, int max, double average) {
+}
@@ -0,0 +1,19 @@
+package com.weatherAPI.weatherApplication.model;
+
+import java.time.Duration;
+
+/**
+ * Size and eviction counters of the in-memory bike trend store.
+ *
+ * @param entries           the number of trends currently stored
+ * @param stations          the number of stations with stored trends
+ * @param partitions        the number of time partitions currently held
+ * @param maxEntries        the configured entry limit
+ * @param maxAge            the configured retention age
+ * @param evictedEntries    the total number of trends evicted since startup
+ * @param evictedPartitions the total number of partitions dropped since startup
+ * @param columnBytes       the bytes allocated for the timestamp and count columns, including spare capacity
+ */
+public record TrendStoreStats(int entries, int stations, int partitions, int maxEntries, Duration maxAge,
+                              long evictedEntries, long evictedPartitions, long columnBytes) {
+}
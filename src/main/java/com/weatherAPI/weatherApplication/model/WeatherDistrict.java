@@ -0,0 +1,15 @@
+package com.weatherAPI.weatherApplication.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A weather district and the location of its forecast.
+ *
+ * @param districtName the district name
+ * @param latitude     the forecast latitude
+ * @param longitude    the forecast longitude
+ */
+public record WeatherDistrict(@JsonProperty("DistrictName") String districtName,
+                              @JsonProperty("Latitude") double latitude,
+                              @JsonProperty("Longitude") double longitude) {
+}
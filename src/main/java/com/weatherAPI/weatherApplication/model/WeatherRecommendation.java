@@ -0,0 +1,17 @@
+package com.weatherAPI.weatherApplication.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The first forecast day of a district that matches the user's preferences.
+ *
+ * @param districtName       the district name
+ * @param weatherDescription the forecast weather description
+ * @param temperatureRange   the forecast temperatures, as "min to max"
+ * @param day                "current" for today, otherwise the index of the forecast day
+ */
+public record WeatherRecommendation(@JsonProperty("DistrictName") String districtName,
+                                    @JsonProperty("WeatherDesc") String weatherDescription,
+                                    @JsonProperty("TemperatureRange") String temperatureRange,
+                                    @JsonProperty("Day") String day) {
+}
@@ -0,0 +1,12 @@
+package com.weatherAPI.weatherApplication.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Distance from a bike station to a weather district.
+ *
+ * @param districtName the district name
+ * @param distance     the distance in kilometers, rounded to whole kilometers
+ */
+public record WeatherStationDistance(@JsonProperty("DistrictName") String districtName, double distance) {
+}
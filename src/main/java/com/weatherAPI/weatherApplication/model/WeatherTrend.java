@@ -0,0 +1,21 @@
+package com.weatherAPI.weatherApplication.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Forecast temperature aggregates of one district.
+ *
+ * @param districtName   the district name
+ * @param averageMaxTemp the average maximum temperature over the forecast days
+ * @param averageMinTemp the average minimum temperature over the forecast days
+ * @param highestMaxTemp the highest maximum temperature over the forecast days
+ * @param lowestMinTemp  the lowest minimum temperature over the forecast days
+ * @param forecastDays   the number of forecast days; 0 if the district has no forecast
+ */
+public record WeatherTrend(@JsonProperty("DistrictName") String districtName,
+                           @JsonProperty("AverageMaxTemp") double averageMaxTemp,
+                           @JsonProperty("AverageMinTemp") double averageMinTemp,
+                           @JsonProperty("HighestMaxTemp") int highestMaxTemp,
+                           @JsonProperty("LowestMinTemp") int lowestMinTemp,
+                           @JsonProperty("ForecastDays") int forecastDays) {
+}
@@ -0,0 +1,29 @@
+package com.weatherAPI.weatherApplication.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.weatherAPI.weatherApplication.model.BikeTrendEntity;
+
+/**
+ * Repository for persisted bike trends. The history is paged through by primary key; queries are
+ * served from the in-memory {@code TrendStore}.
+ */
+@Repository
+public interface BikeTrendRepository extends JpaRepository<BikeTrendEntity, Long> {
+
+    /**
+     * Finds the next page of trends recorded at or after the given time, in insertion order. Pass the
+     * id of the last trend of the previous page, or 0 for the first page.
+     *
+     * @param afterId  the id after which the page starts, exclusive
+     * @param from     the start of the range, inclusive
+     * @param pageable the page size; the page number is ignored in favor of {@code afterId}
+     * @return the matching trends
+     */
+    List<BikeTrendEntity> findByIdGreaterThanAndTimestampGreaterThanEqualOrderByIdAsc(Long afterId, LocalDateTime from, Pageable pageable);
+}
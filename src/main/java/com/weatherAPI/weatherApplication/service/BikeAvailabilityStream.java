@@ -0,0 +1,241 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weatherAPI.weatherApplication.model.StationAvailability;
+
+/**
+ * Pushes bike availability changes to Server-Sent Events subscribers.
+ *
+ * <p>After every ingest of the Bicycle feed, the stations whose number of available bikes changed are
+ * sent as one {@value #CHANGES_EVENT} event, serialized once and written to every subscriber. Stations
+ * that dropped out of the feed are part of the same event, flagged as removed. The last
+ * {@code historySize} events are kept, so a subscriber that reconnects with the id of the last event it
+ * received is sent only what it missed. A new subscriber, or one whose last event is no longer kept or
+ * belongs to an earlier run of the application, first receives a {@value #SNAPSHOT_EVENT} event with
+ * every station.</p>
+ *
+ * <p>Change detection, history and sending all run on a single background thread, so ingest never
+ * waits on a subscriber and events reach every subscriber in order without gaps.</p>
+ */
+@Component
+public class BikeAvailabilityStream {
+
+    static final String CHANGES_EVENT = "availability";
+    static final String SNAPSHOT_EVENT = "snapshot";
+
+    private static final Logger log = LoggerFactory.getLogger(BikeAvailabilityStream.class);
+
+    private final ObjectMapper objectMapper;
+    private final int historySize;
+    private final long timeoutMillis;
+    private final Executor executor;
+
+    /**
+     * Distinguishes event ids of this run from ids a client kept from an earlier run.
+     */
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    // Only accessed on the executor thread
+    private final Map<Integer, StationAvailability> current = new LinkedHashMap<>();
+    private final Deque<Event> history = new ArrayDeque<>();
+    private long sequence;
+
+    /**
+     * Constructor to initialize the stream and subscribe it to new bike snapshots.
+     *
+     * @param bikeService  the service publishing bike snapshots
+     * @param objectMapper the mapper used to serialize events
+     * @param historySize  the number of events kept for reconnecting subscribers
+     * @param timeout      how long a subscription stays open before the client has to reconnect
+     */
+    @Autowired
+    public BikeAvailabilityStream(BikeService bikeService, ObjectMapper objectMapper,
+                                  @Value("${bike.stream.history:100}") int historySize,
+                                  @Value("${bike.stream.timeout:PT30M}") Duration timeout) {
+        this(objectMapper, historySize, timeout, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bike-stream");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        bikeService.addSnapshotListener(this::publish);
+    }
+
+    BikeAvailabilityStream(ObjectMapper objectMapper, int historySize, Duration timeout, Executor executor) {
+        this.objectMapper = objectMapper;
+        this.historySize = historySize;
+        this.timeoutMillis = timeout.toMillis();
+        this.executor = executor;
+    }
+
+    /**
+     * Opens a subscription that first catches up from {@code lastEventId} and then receives every new
+     * change event.
+     *
+     * @param lastEventId the id of the last event the client received, or null for a new client
+     * @return the emitter of the subscription
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> emitters.remove(emitter));
+        executor.execute(() -> {
+            for (Event event : catchUp(lastEventId)) {
+                if (!send(emitter, event)) {
+                    return;
+                }
+            }
+            emitters.add(emitter);
+        });
+        return emitter;
+    }
+
+    /**
+     * Sends the stations of a new snapshot whose availability changed to every subscriber.
+     *
+     * @param snapshot the newly fetched snapshot
+     */
+    public void publish(BikeSnapshot snapshot) {
+        executor.execute(() -> {
+            Event event = recordChanges(snapshot.getStations());
+            if (event != null) {
+                for (SseEmitter emitter : emitters) {
+                    send(emitter, event);
+                }
+            }
+        });
+    }
+
+    /**
+     * Compares the stations with the previously published state and records the changed ones, followed
+     * by the ones that are no longer in the feed, as a new event.
+     *
+     * @param stations the station details of a snapshot
+     * @return the new event, or null if no station changed
+     */
+    Event recordChanges(List<Map<String, Object>> stations) {
+        List<StationAvailability> changes = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>(stations.size() * 2);
+        for (Map<String, Object> station : stations) {
+            int stationId = ((Number) station.get("stationId")).intValue();
+            StationAvailability availability = new StationAvailability(
+                    stationId,
+                    (String) station.get("stationName"),
+                    ((Number) station.get("availableBikes")).intValue(),
+                    ((Number) station.get("latitude")).doubleValue(),
+                    ((Number) station.get("longitude")).doubleValue());
+            seen.add(stationId);
+            StationAvailability previous = current.put(stationId, availability);
+            if (previous == null || previous.availableBikes() != availability.availableBikes()) {
+                changes.add(availability);
+            }
+        }
+        for (Iterator<Map.Entry<Integer, StationAvailability>> it = current.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, StationAvailability> entry = it.next();
+            if (!seen.contains(entry.getKey())) {
+                changes.add(entry.getValue().asRemoved());
+                it.remove();
+            }
+        }
+        if (changes.isEmpty()) {
+            return null;
+        }
+        Event event = new Event(++sequence, runId + ":" + sequence, CHANGES_EVENT, toJson(changes));
+        history.addLast(event);
+        if (history.size() > historySize) {
+            history.removeFirst();
+        }
+        return event;
+    }
+
+    /**
+     * Determines what a subscriber has to receive before it can follow new events.
+     *
+     * @param lastEventId the id of the last event the subscriber received, or null
+     * @return the missed events, or a single snapshot event if they are not all kept
+     */
+    List<Event> catchUp(String lastEventId) {
+        long lastSequence = parseSequence(lastEventId);
+        if (lastSequence == sequence) {
+            return List.of();
+        }
+        if (lastSequence >= 0 && lastSequence < sequence && !history.isEmpty()
+                && history.peekFirst().sequence() <= lastSequence + 1) {
+            return history.stream().filter(event -> event.sequence() > lastSequence).toList();
+        }
+        if (current.isEmpty()) {
+            return List.of();
+        }
+        return List.of(new Event(sequence, runId + ":" + sequence, SNAPSHOT_EVENT, toJson(current.values())));
+    }
+
+    /**
+     * Returns the sequence number of an event id of this run, or -1 if it is missing or from another run.
+     */
+    private long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(runId + ":")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(runId.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private boolean send(SseEmitter emitter, Event event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(event.id())
+                    .name(event.name())
+                    .data(event.data(), MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping bike stream subscriber: {}", e.getMessage());
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A stream event with its JSON payload, serialized once for all subscribers.
+     */
+    record Event(long sequence, String id, String name, String data) {
+    }
+}
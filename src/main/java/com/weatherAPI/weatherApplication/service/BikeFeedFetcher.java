@@ -0,0 +1,182 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.weatherAPI.weatherApplication.model.BikeApiResponse;
+import com.weatherAPI.weatherApplication.model.BikeData;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fetches the complete flat Bicycle feed, following the {@code limit}/{@code offset} paging of the
+ * OpenDataHub mobility API.
+ *
+ * <p>The first page is requested with the upstream default page size. The API does not report a total
+ * count, so as long as pages come back full the next pages are requested concurrently, with at most
+ * {@code parallelism} requests in flight, until a page comes back short. Pages are merged in offset
+ * order. A failed page is retried; if it keeps failing the whole fetch fails, so callers never see a
+ * feed with a gap in it.</p>
+ */
+@Component
+public class BikeFeedFetcher {
+
+    static final String API_URL = "https://mobility.api.opendatahub.com/v2/flat/Bicycle";
+
+    private final RestTemplate restTemplate;
+    private final String url;
+    private final int parallelism;
+    private final int pageRetries;
+    private final int maxPages;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor to initialize the BikeFeedFetcher with the default feed URL and paging settings.
+     *
+     * @param restTemplate the RestTemplate for API calls
+     */
+    public BikeFeedFetcher(RestTemplate restTemplate) {
+        this(restTemplate, API_URL, 4, 1, 100);
+    }
+
+    /**
+     * Constructor to initialize the BikeFeedFetcher.
+     *
+     * @param restTemplate the RestTemplate for API calls
+     * @param url          the URL of the flat Bicycle feed
+     * @param parallelism  the maximum number of page requests in flight at once
+     * @param pageRetries  how many times a failed page is requested again before the fetch fails
+     * @param maxPages     the maximum number of pages fetched, guarding against a feed that never ends
+     */
+    @Autowired
+    public BikeFeedFetcher(RestTemplate restTemplate,
+                           @Value("${bike.feed.url:" + API_URL + "}") String url,
+                           @Value("${bike.feed.parallelism:4}") int parallelism,
+                           @Value("${bike.feed.page-retries:1}") int pageRetries,
+                           @Value("${bike.feed.max-pages:100}") int maxPages) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("bike.feed.parallelism must be at least 1");
+        }
+        this.restTemplate = restTemplate;
+        this.url = url;
+        this.parallelism = parallelism;
+        this.pageRetries = pageRetries;
+        this.maxPages = maxPages;
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "bike-feed-page");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Fetches every page of the feed and merges them in order.
+     *
+     * @return the bike data of all pages, in feed order
+     * @throws RestClientException if a page cannot be fetched or the feed exceeds the maximum number of pages
+     */
+    public List<BikeData> fetchAll() {
+        BikeApiResponse first = requestPage(url);
+        List<BikeData> data = new ArrayList<>(dataOf(first));
+        int limit = first != null ? first.getLimit() : 0;
+        if (limit <= 0 || data.size() < limit) {
+            return data;
+        }
+
+        Deque<CompletableFuture<List<BikeData>>> window = new ArrayDeque<>(parallelism);
+        int nextOffset = first.getOffset() + limit;
+        int pages = 1;
+        try {
+            while (true) {
+                while (window.size() < parallelism && pages + window.size() < maxPages) {
+                    int offset = nextOffset;
+                    window.addLast(supplyPage(limit, offset));
+                    nextOffset += limit;
+                }
+                if (window.isEmpty()) {
+                    throw new RestClientException("Bicycle feed exceeds " + maxPages + " pages of " + limit + " stations");
+                }
+                List<BikeData> page = join(window.removeFirst());
+                pages++;
+                data.addAll(page);
+                if (page.size() < limit) {
+                    return data;
+                }
+            }
+        } finally {
+            window.forEach(future -> future.cancel(false));
+        }
+    }
+
+    /**
+     * Stops the page request threads. Fetches still running fail with a {@link RestClientException}.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Fetches the page at the given offset, retrying it if it fails.
+     */
+    private List<BikeData> fetchPage(int limit, int offset) {
+        String pageUrl = UriComponentsBuilder.fromHttpUrl(url)
+                .queryParam("limit", limit)
+                .queryParam("offset", offset)
+                .toUriString();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                BikeApiResponse page = requestPage(pageUrl);
+                if (page != null && page.getOffset() != offset) {
+                    throw new RestClientException("Requested Bicycle feed offset " + offset + " but got " + page.getOffset());
+                }
+                return dataOf(page);
+            } catch (RestClientException e) {
+                if (attempt >= pageRetries) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<List<BikeData>> supplyPage(int limit, int offset) {
+        try {
+            return CompletableFuture.supplyAsync(() -> fetchPage(limit, offset), executor);
+        } catch (RejectedExecutionException e) {
+            throw new RestClientException("Bicycle feed fetcher is closed", e);
+        }
+    }
+
+    private BikeApiResponse requestPage(String pageUrl) {
+        return restTemplate.getForObject(pageUrl, BikeApiResponse.class);
+    }
+
+    private static List<BikeData> dataOf(BikeApiResponse response) {
+        return response != null && response.getData() != null ? response.getData() : List.of();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
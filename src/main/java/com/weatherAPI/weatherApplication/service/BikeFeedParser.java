@@ -0,0 +1,172 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.weatherAPI.weatherApplication.model.BikeApiResponse;
+import com.weatherAPI.weatherApplication.model.BikeData;
+
+/**
+ * Streaming parser for the flat Bicycle feed of the OpenDataHub mobility API.
+ *
+ * <p>Instead of binding the whole payload, it walks the token stream once and only materializes the
+ * fields the application uses: {@code offset}, {@code limit}, and per station {@code pname}, {@code pcoordinate.x/y},
+ * {@code pmetadata.bikes} and {@code pmetadata.municipality}. Every other subtree is skipped without
+ * being buffered. Bike type maps are stored as compact immutable maps and municipality names are
+ * shared between stations of the same payload.</p>
+ *
+ * <p>Instances are thread-safe.</p>
+ */
+public class BikeFeedParser {
+
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+            .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+            .build();
+
+    /**
+     * Parses a Bicycle feed response.
+     *
+     * @param in the response body
+     * @return the parsed {@link BikeApiResponse}
+     * @throws IOException if the body cannot be read or is not valid JSON
+     */
+    public BikeApiResponse parse(InputStream in) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            return readResponse(parser);
+        }
+    }
+
+    /**
+     * Parses a Bicycle feed response held in memory.
+     *
+     * @param content the response body
+     * @return the parsed {@link BikeApiResponse}
+     * @throws IOException if the body is not valid JSON
+     */
+    public BikeApiResponse parse(byte[] content) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(content)) {
+            return readResponse(parser);
+        }
+    }
+
+    private BikeApiResponse readResponse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected the Bicycle feed to be a JSON object");
+        }
+        BikeApiResponse response = new BikeApiResponse();
+        Map<String, String> strings = new HashMap<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "offset" -> response.setOffset(parser.getValueAsInt());
+                case "limit" -> response.setLimit(parser.getValueAsInt());
+                case "data" -> response.setData(readStations(parser, token, strings));
+                default -> parser.skipChildren();
+            }
+        }
+        return response;
+    }
+
+    private List<BikeData> readStations(JsonParser parser, JsonToken token, Map<String, String> strings) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<BikeData> stations = new ArrayList<>();
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                stations.add(readStation(parser, strings));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return stations;
+    }
+
+    private BikeData readStation(JsonParser parser, Map<String, String> strings) throws IOException {
+        BikeData station = new BikeData();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "pname" -> station.setStationName(parser.getValueAsString());
+                case "pcoordinate" -> station.setCoordinate(readCoordinate(parser, token));
+                case "pmetadata" -> station.setMetadata(readMetadata(parser, token, strings));
+                default -> parser.skipChildren();
+            }
+        }
+        return station;
+    }
+
+    private BikeData.Coordinate readCoordinate(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        BikeData.Coordinate coordinate = new BikeData.Coordinate();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "x" -> coordinate.setLongitude(parser.getValueAsDouble());
+                case "y" -> coordinate.setLatitude(parser.getValueAsDouble());
+                default -> parser.skipChildren();
+            }
+        }
+        return coordinate;
+    }
+
+    private BikeData.Metadata readMetadata(JsonParser parser, JsonToken token, Map<String, String> strings) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        BikeData.Metadata metadata = new BikeData.Metadata();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            switch (field) {
+                case "bikes" -> metadata.setBikes(readBikes(parser, valueToken));
+                case "municipality" -> {
+                    String municipality = parser.getValueAsString();
+                    metadata.setMunicipality(municipality != null ? strings.computeIfAbsent(municipality, m -> m) : null);
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Reads the bike counts per type. Field names are canonicalized by the {@link JsonFactory}, so
+     * type names are shared between stations; entries without a numeric count are skipped.
+     */
+    private Map<String, Integer> readBikes(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        Map<String, Integer> bikes = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String type = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if (valueToken == JsonToken.VALUE_NUMBER_INT || valueToken == JsonToken.VALUE_NUMBER_FLOAT) {
+                bikes.put(type, parser.getValueAsInt());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return Map.copyOf(bikes);
+    }
+}
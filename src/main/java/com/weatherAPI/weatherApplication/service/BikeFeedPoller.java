@@ -0,0 +1,47 @@
+package com.weatherAPI.weatherApplication.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Background job that fetches the Bicycle feed at a fixed interval and publishes it as the
+ * {@link BikeSnapshot} served by {@link BikeService}, so request handling never waits on the
+ * upstream API and upstream load does not depend on our traffic.
+ *
+ * <p>Enabled by default; set {@code bike.poller.enabled=false} to turn it off.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "bike.poller.enabled", havingValue = "true", matchIfMissing = true)
+public class BikeFeedPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(BikeFeedPoller.class);
+
+    private final BikeService bikeService;
+
+    /**
+     * Constructor to inject the {@link BikeService} dependency.
+     *
+     * @param bikeService the service holding the bike snapshot
+     */
+    public BikeFeedPoller(BikeService bikeService) {
+        this.bikeService = bikeService;
+    }
+
+    /**
+     * Fetches the feed and publishes a new snapshot, sharing the fetch with any reader already waiting
+     * for one. A failed fetch keeps the previous snapshot.
+     */
+    @Scheduled(fixedDelayString = "${bike.poller.interval:PT1M}", initialDelayString = "${bike.poller.initial-delay:PT0S}")
+    public void poll() {
+        try {
+            BikeSnapshot snapshot = bikeService.refresh();
+            log.debug("Fetched {} bike stations", snapshot.getData().size());
+        } catch (RestClientException e) {
+            log.warn("Failed to fetch the Bicycle feed, keeping the previous snapshot: {}", e.getMessage());
+        }
+    }
+}
@@ -1,15 +1,27 @@
 package com.weatherAPI.weatherApplication.service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import com.weatherAPI.weatherApplication.model.BikeApiResponse;
 import com.weatherAPI.weatherApplication.model.BikeData;
 import com.weatherAPI.weatherApplication.model.BikeTrend;
+import com.weatherAPI.weatherApplication.model.BikeTypeDetails;
+import com.weatherAPI.weatherApplication.model.CacheStats;
+import com.weatherAPI.weatherApplication.model.RollupResolution;
+import com.weatherAPI.weatherApplication.model.StationRollups;
+import com.weatherAPI.weatherApplication.model.StationTrendSeries;
+import com.weatherAPI.weatherApplication.model.TrendStoreStats;
+
+import jakarta.annotation.PreDestroy;
 
 /**
  * Service class for managing bike data and trends retrieved from an external API.
@@ -17,54 +29,158 @@ import com.weatherAPI.weatherApplication.model.BikeTrend;
 @Service
 public class BikeService {
 
-    private final RestTemplate restTemplate;
+    private final BikeFeedFetcher feedFetcher;
+
+    static final Duration DEFAULT_SNAPSHOT_TTL = Duration.ofMinutes(2);
+
+    private final TrendStore trendStore;
+
+    private final TrendRollups trendRollups;
+
+    private final StationRegistry stationRegistry;
 
-    private final String API_URL = "https://mobility.api.opendatahub.com/v2/flat/Bicycle";
+    private final SnapshotCache<BikeSnapshot> snapshots;
 
-    private final List<BikeTrend> trends = new ArrayList<>();
+    private final boolean ownsFeedFetcher;
+
+    private final List<Consumer<BikeSnapshot>> snapshotListeners = new CopyOnWriteArrayList<>();
 
     /**
-     * Constructor to initialize the BikeService.
+     * Constructor to initialize the BikeService with a default {@link TrendStore}, {@link TrendRollups},
+     * {@link StationRegistry} and snapshot cache settings.
      *
      * @param restTemplate the RestTemplate for API calls
      */
     public BikeService(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+        this(new BikeFeedFetcher(restTemplate), new TrendStore(), new TrendRollups(), new StationRegistry(),
+                DEFAULT_SNAPSHOT_TTL, true, true);
+    }
+
+    /**
+     * Constructor to initialize the BikeService.
+     *
+     * @param feedFetcher          fetches every page of the Bicycle feed
+     * @param trendStore           the store holding the collected bike trends
+     * @param trendRollups         the hourly and daily aggregates of the collected bike trends
+     * @param stationRegistry      assigns the stable station ids
+     * @param snapshotTtl          how long a fetched snapshot is served before reads trigger a new fetch
+     * @param staleWhileRevalidate whether an expired snapshot is served while a new one is fetched in the background
+     */
+    @Autowired
+    public BikeService(BikeFeedFetcher feedFetcher, TrendStore trendStore, TrendRollups trendRollups,
+                       StationRegistry stationRegistry,
+                       @Value("${bike.snapshot.ttl:PT2M}") Duration snapshotTtl,
+                       @Value("${bike.snapshot.stale-while-revalidate:true}") boolean staleWhileRevalidate) {
+        this(feedFetcher, trendStore, trendRollups, stationRegistry, snapshotTtl, staleWhileRevalidate, false);
+    }
+
+    private BikeService(BikeFeedFetcher feedFetcher, TrendStore trendStore, TrendRollups trendRollups,
+                        StationRegistry stationRegistry, Duration snapshotTtl, boolean staleWhileRevalidate,
+                        boolean ownsFeedFetcher) {
+        this.feedFetcher = feedFetcher;
+        this.ownsFeedFetcher = ownsFeedFetcher;
+        this.trendStore = trendStore;
+        this.trendRollups = trendRollups;
+        this.stationRegistry = stationRegistry;
+        this.snapshots = new SnapshotCache<>("bike-snapshot", this::fetchSnapshot, snapshotTtl, staleWhileRevalidate);
+    }
+
+    /**
+     * Closes the {@link BikeFeedFetcher} if this service created it; an injected one is closed by its
+     * own lifecycle.
+     */
+    @PreDestroy
+    public void close() {
+        if (ownsFeedFetcher) {
+            feedFetcher.close();
+        }
     }
 
     /**
-     * Fetches bike data from the external API.
+     * Retrieves bike data from the current snapshot. See {@link #getSnapshot()}.
      *
      * @return a list of {@link BikeData} objects containing bike station information
      */
     public List<BikeData> getBikeData() {
-        BikeApiResponse response = restTemplate.getForObject(API_URL, BikeApiResponse.class);
-        if (response != null) {
-            saveBikeTrends(response.getData());
-            return response.getData();
-        }
-        return List.of();
+        return getSnapshot().getData();
+    }
+
+    /**
+     * Retrieves the current snapshot of the Bicycle feed. The snapshot is normally kept fresh by the
+     * {@link BikeFeedPoller}; if it is disabled or has stalled, the snapshot expires after the configured
+     * time-to-live and is fetched again, with concurrent readers sharing a single upstream call.
+     *
+     * @return the current {@link BikeSnapshot}
+     */
+    public BikeSnapshot getSnapshot() {
+        return snapshots.get();
+    }
+
+    /**
+     * Fetches a new snapshot regardless of the age of the current one, joining a fetch already in flight.
+     *
+     * @return the newly published {@link BikeSnapshot}
+     */
+    public BikeSnapshot refresh() {
+        return snapshots.refresh();
+    }
+
+    /**
+     * Registers a listener that receives every newly fetched snapshot. Listeners run on the thread that
+     * fetched the snapshot, so they must return quickly.
+     *
+     * @param listener receives each new {@link BikeSnapshot}
+     */
+    public void addSnapshotListener(Consumer<BikeSnapshot> listener) {
+        snapshotListeners.add(listener);
+    }
+
+    /**
+     * Retrieves the hit, miss and load counters of the snapshot cache.
+     *
+     * @return a {@link CacheStats} snapshot
+     */
+    public CacheStats getSnapshotCacheStats() {
+        return snapshots.getStats();
+    }
+
+    /**
+     * Fetches all pages of bike data from the external API, registers its stations and saves trends for it.
+     *
+     * @return a new {@link BikeSnapshot} of the fetched data
+     */
+    private BikeSnapshot fetchSnapshot() {
+        List<BikeData> bikeDataList = feedFetcher.fetchAll();
+        int[] stationIds = stationRegistry.register(bikeDataList);
+
+        saveBikeTrends(bikeDataList);
+        BikeSnapshot snapshot = new BikeSnapshot(bikeDataList, stationIds, createStations(bikeDataList, stationIds),
+                Instant.now());
+        snapshotListeners.forEach(listener -> listener.accept(snapshot));
+        return snapshot;
     }
 
     /**
-     * Saves trends for bike data based on the latest API response.
+     * Saves trends for bike data based on the latest API response. Every sample is added to the rollups;
+     * the trend store skips repeated counts.
      *
      * @param bikeDataList list of {@link BikeData} objects to process and save trends
      */
     private void saveBikeTrends(List<BikeData> bikeDataList) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BikeTrend> newTrends = new ArrayList<>(bikeDataList.size());
         for (BikeData bikeData : bikeDataList) {
             if (bikeData.getStationName() != null) {
                 BikeTrend trend = new BikeTrend();
                 trend.setStationName(bikeData.getStationName());
                 trend.setAvailableBikes(getAvailableBikes(bikeData));
-                trend.setTimestamp(LocalDateTime.now());
+                trend.setTimestamp(now);
                 setCoordinates(trend, bikeData);
-
-                if (!isDuplicateTrend(trend)) {
-                    trends.add(trend);
-                }
+                newTrends.add(trend);
             }
         }
+        trendRollups.addAll(newTrends);
+        trendStore.addAll(newTrends);
     }
 
     /**
@@ -96,25 +212,47 @@ public class BikeService {
     }
 
     /**
-     * Checks if a bike trend is a duplicate.
+     * Retrieves the list of saved bike trends.
+     *
+     * @return a list of {@link BikeTrend} objects
+     */
+    public List<BikeTrend> getTrends() {
+        return trendStore.getTrends();
+    }
+
+    /**
+     * Retrieves downsampled trends. See {@link TrendStore#query(String, LocalDateTime, LocalDateTime, Duration)}.
      *
-     * @param trend the {@link BikeTrend} to check
-     * @return true if the trend is a duplicate, false otherwise
+     * @param stationName the station to query, or null for every station
+     * @param from        the start of the range, inclusive, or null for the oldest trend
+     * @param to          the end of the range, inclusive, or null for the newest trend
+     * @param bucket      the bucket size
+     * @return one {@link StationTrendSeries} per station with trends in range
      */
-    private boolean isDuplicateTrend(BikeTrend trend) {
-        return trends.stream().anyMatch(existingTrend ->
-                Objects.equals(existingTrend.getStationName(), trend.getStationName()) &&
-                        existingTrend.getAvailableBikes() == trend.getAvailableBikes() &&
-                        existingTrend.getTimestamp().toLocalDate().equals(trend.getTimestamp().toLocalDate()));
+    public List<StationTrendSeries> queryTrends(String stationName, LocalDateTime from, LocalDateTime to, Duration bucket) {
+        return trendStore.query(stationName, from, to, bucket);
     }
 
     /**
-     * Retrieves the list of saved bike trends.
+     * Retrieves hourly or daily availability rollups. See {@link TrendRollups#query(String, RollupResolution, LocalDateTime, LocalDateTime)}.
      *
-     * @return a list of {@link BikeTrend} objects
+     * @param stationName the station to query, or null for every station
+     * @param resolution  the bucket resolution
+     * @param from        the earliest bucket start, inclusive, or null for the oldest bucket
+     * @param to          the latest bucket start, inclusive, or null for the newest bucket
+     * @return one {@link StationRollups} per station with buckets in range
      */
-    public List<BikeTrend> getTrends() {
-        return trends;
+    public List<StationRollups> getRollups(String stationName, RollupResolution resolution, LocalDateTime from, LocalDateTime to) {
+        return trendRollups.query(stationName, resolution, from, to);
+    }
+
+    /**
+     * Retrieves the size and eviction counters of the trend store.
+     *
+     * @return a {@link TrendStoreStats} snapshot
+     */
+    public TrendStoreStats getTrendStats() {
+        return trendStore.getStats();
     }
 
     /**
@@ -123,36 +261,55 @@ public class BikeService {
      * @return a list of maps containing station details
      */
     public List<Map<String, Object>> getBikeStations() {
-        List<BikeData> bikeDataList = getBikeData();
-        Set<String> seenStations = new HashSet<>();
+        return getSnapshot().getStations();
+    }
 
-        return bikeDataList.stream()
-                .filter(bikeData -> bikeData.getStationName() != null && bikeData.getMetadata() != null)
-                .map(bikeData -> createStationMap(bikeData, seenStations))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    /**
+     * Retrieves the bike type details of every station with bike metadata from the current snapshot.
+     * The list is built once per snapshot and shared; see {@link BikeTypeProjection}.
+     *
+     * @return an immutable list of {@link BikeTypeDetails} objects
+     */
+    public BikeTypeProjection getBikeTypeDetails() {
+        return getSnapshot().getBikeTypeDetails();
     }
 
     /**
-     * Creates a map of station details if not already seen.
+     * Builds the deduplicated list of bike station details for a snapshot, keeping the first element of
+     * every registered station.
      *
-     * @param bikeData    the {@link BikeData} object containing station details
-     * @param seenStations a set of seen station keys to avoid duplicates
-     * @return a map of station details or null if already seen
+     * @param bikeDataList the bike data of the snapshot
+     * @param stationIds   the station id of every element
+     * @return a list of maps containing station details
      */
-    private Map<String, Object> createStationMap(BikeData bikeData, Set<String> seenStations) {
+    private List<Map<String, Object>> createStations(List<BikeData> bikeDataList, int[] stationIds) {
+        BitSet seenStations = new BitSet(stationRegistry.idCount());
+        List<Map<String, Object>> stations = new ArrayList<>();
+
+        for (int i = 0; i < stationIds.length; i++) {
+            BikeData bikeData = bikeDataList.get(i);
+            if (stationIds[i] >= 0 && bikeData.getMetadata() != null && !seenStations.get(stationIds[i])) {
+                seenStations.set(stationIds[i]);
+                stations.add(createStationMap(bikeData, stationIds[i]));
+            }
+        }
+        return stations;
+    }
+
+    /**
+     * Creates a map of station details.
+     *
+     * @param bikeData  the {@link BikeData} object containing station details
+     * @param stationId the id of the station
+     * @return an unmodifiable map of station details
+     */
+    private Map<String, Object> createStationMap(BikeData bikeData, int stationId) {
         Map<String, Object> station = new HashMap<>();
+        station.put("stationId", stationId);
         station.put("stationName", bikeData.getStationName());
         station.put("availableBikes", getAvailableBikes(bikeData));
-        double latitude = bikeData.getCoordinate() != null ? bikeData.getCoordinate().getLatitude() : 0.0;
-        double longitude = bikeData.getCoordinate() != null ? bikeData.getCoordinate().getLongitude() : 0.0;
-        station.put("latitude", latitude);
-        station.put("longitude", longitude);
-
-        String stationKey = bikeData.getStationName() + "_" + latitude + "_" + longitude;
-        if (seenStations.add(stationKey)) {
-            return station;
-        }
-        return null;
+        station.put("latitude", bikeData.getCoordinate() != null ? bikeData.getCoordinate().getLatitude() : 0.0);
+        station.put("longitude", bikeData.getCoordinate() != null ? bikeData.getCoordinate().getLongitude() : 0.0);
+        return Collections.unmodifiableMap(station);
     }
 }
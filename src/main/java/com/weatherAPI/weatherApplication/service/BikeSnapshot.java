@@ -0,0 +1,158 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.weatherAPI.weatherApplication.model.BikeData;
+
+/**
+ * Immutable result of one fetch of the Bicycle feed, together with the views derived from it.
+ * Read endpoints serve from the current snapshot instead of calling the upstream API.
+ */
+public final class BikeSnapshot {
+
+    private final List<BikeData> data;
+    private final int[] stationIds;
+    private final List<Map<String, Object>> stations;
+    private final BikeTypeIndex bikeTypeIndex;
+    private final BikeTypeProjection bikeTypeDetails;
+    private final StationSpatialIndex stationIndex;
+    private final GeoDistanceKernel distanceKernel;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] stationOrder;
+    private final int[] orderedStationIds;
+    private final Instant fetchedAt;
+
+    BikeSnapshot(List<BikeData> data, int[] stationIds, List<Map<String, Object>> stations, Instant fetchedAt) {
+        this.data = Collections.unmodifiableList(new ArrayList<>(data));
+        this.stationIds = stationIds;
+        this.stations = Collections.unmodifiableList(new ArrayList<>(stations));
+        this.bikeTypeIndex = BikeTypeIndex.build(this.data, stationIds);
+        this.bikeTypeDetails = BikeTypeProjection.build(this.data);
+        this.latitudes = coordinates(this.stations, "latitude");
+        this.longitudes = coordinates(this.stations, "longitude");
+        this.stationIndex = StationSpatialIndex.build(latitudes, longitudes);
+        this.distanceKernel = GeoDistanceKernel.of(latitudes, longitudes);
+
+        long[] idsAndPositions = new long[this.stations.size()];
+        for (int i = 0; i < idsAndPositions.length; i++) {
+            idsAndPositions[i] = ((Number) this.stations.get(i).get("stationId")).longValue() << 32 | i;
+        }
+        Arrays.sort(idsAndPositions);
+        this.stationOrder = new int[idsAndPositions.length];
+        this.orderedStationIds = new int[idsAndPositions.length];
+        for (int i = 0; i < idsAndPositions.length; i++) {
+            stationOrder[i] = (int) idsAndPositions[i];
+            orderedStationIds[i] = (int) (idsAndPositions[i] >>> 32);
+        }
+        this.fetchedAt = fetchedAt;
+    }
+
+    /**
+     * @return the bike data as returned by the upstream API
+     */
+    public List<BikeData> getData() {
+        return data;
+    }
+
+    /**
+     * @param index the index of an element of {@link #getData()}
+     * @return the {@link StationRegistry} id of that element's station, or -1 if it has no station name
+     */
+    public int getStationId(int index) {
+        return stationIds[index];
+    }
+
+    /**
+     * @return the deduplicated bike station details derived from the data
+     */
+    public List<Map<String, Object>> getStations() {
+        return stations;
+    }
+
+    /**
+     * @return the index from bike type to the stations with bikes of that type
+     */
+    public BikeTypeIndex getBikeTypeIndex() {
+        return bikeTypeIndex;
+    }
+
+    /**
+     * @return the bike type details of every element with bike metadata
+     */
+    public BikeTypeProjection getBikeTypeDetails() {
+        return bikeTypeDetails;
+    }
+
+    /**
+     * @return the spatial index of {@link #getStations()}, whose results are positions in that list
+     */
+    public StationSpatialIndex getStationIndex() {
+        return stationIndex;
+    }
+
+    /**
+     * @return the distance kernel over {@link #getStations()}, for distances to every station at once
+     */
+    public GeoDistanceKernel getDistanceKernel() {
+        return distanceKernel;
+    }
+
+    /**
+     * @return the latitude of every station of {@link #getStations()}; shared, must not be modified
+     */
+    double[] getLatitudes() {
+        return latitudes;
+    }
+
+    /**
+     * @return the longitude of every station of {@link #getStations()}; shared, must not be modified
+     */
+    double[] getLongitudes() {
+        return longitudes;
+    }
+
+    /**
+     * @return the positions in {@link #getStations()} ordered by station id; shared, must not be modified
+     */
+    int[] getStationOrder() {
+        return stationOrder;
+    }
+
+    /**
+     * @param orderIndex an index into {@link #getStationOrder()}
+     * @return the station id of the station at that index
+     */
+    int getStationIdInOrder(int orderIndex) {
+        return orderedStationIds[orderIndex];
+    }
+
+    /**
+     * @param stationId a station id, which need not be in this snapshot
+     * @return the index into {@link #getStationOrder()} of the first station with a greater id
+     */
+    int indexAfterStationId(int stationId) {
+        int index = Arrays.binarySearch(orderedStationIds, stationId);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * @return the time the data was fetched
+     */
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    private static double[] coordinates(List<Map<String, Object>> stations, String key) {
+        double[] coordinates = new double[stations.size()];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = ((Number) stations.get(i).get(key)).doubleValue();
+        }
+        return coordinates;
+    }
+}
@@ -0,0 +1,191 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.weatherAPI.weatherApplication.model.BikeTrend;
+import com.weatherAPI.weatherApplication.model.BikeTrendEntity;
+import com.weatherAPI.weatherApplication.repository.BikeTrendRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Persists the trends stored in the {@link TrendStore} to the database, so the history survives
+ * restarts.
+ *
+ * <p>Newly stored trends are handed over through a bounded queue and never wait on the database; if
+ * the queue is full they are dropped from persistence (they stay in memory) and counted. A scheduled
+ * flush drains the queue and saves it in batches of {@code batchSize} rows, each batch in its own
+ * transaction and sent as JDBC batches. A batch that fails to save is retried on the next flush, with
+ * fresh entities so the retry is inserted again rather than merged row by row.</p>
+ *
+ * <p>On startup the persisted history is read back page by page: the trends still within the retention
+ * window of the store fill the store, and every trend within the retention of the {@link TrendRollups}
+ * is replayed into the rollups. Only trends the store kept are persisted, so a rebuilt bucket leaves out
+ * polls that repeated a count already seen that day and has a lower count than a bucket built live.
+ * Enabled by default; set {@code bike.trends.persistence.enabled=false} to keep the history
+ * in memory only.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "bike.trends.persistence.enabled", havingValue = "true", matchIfMissing = true)
+public class BikeTrendWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(BikeTrendWriter.class);
+
+    static final int RESTORE_PAGE_SIZE = 10_000;
+
+    private final BikeTrendRepository repository;
+    private final TrendStore trendStore;
+    private final TrendRollups trendRollups;
+    private final int batchSize;
+    private final BlockingQueue<BikeTrend> queue;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private long written;
+    private List<BikeTrend> failedBatch;
+
+    /**
+     * Constructor to initialize the BikeTrendWriter.
+     *
+     * @param repository    the repository the trends are saved to
+     * @param trendStore    the store whose newly stored trends are persisted
+     * @param trendRollups  the rollups rebuilt from the persisted trends on startup
+     * @param batchSize     the number of rows saved per transaction
+     * @param queueCapacity the number of trends that can wait for the next flush
+     */
+    public BikeTrendWriter(BikeTrendRepository repository, TrendStore trendStore, TrendRollups trendRollups,
+                           @Value("${bike.trends.persistence.batch-size:500}") int batchSize,
+                           @Value("${bike.trends.persistence.queue-capacity:100000}") int queueCapacity) {
+        this.repository = repository;
+        this.trendStore = trendStore;
+        this.trendRollups = trendRollups;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Loads the persisted history that is still within the retention window of the store and of the
+     * rollups, then starts listening for newly stored trends. Restored trends are not written again.
+     */
+    @PostConstruct
+    public void restore() {
+        LocalDateTime now = LocalDateTime.now();
+        Duration storeMaxAge = trendStore.getStats().maxAge();
+        LocalDateTime storeSince = now.minus(storeMaxAge);
+        LocalDateTime since = now.minus(storeMaxAge.compareTo(trendRollups.getRetention()) >= 0
+                ? storeMaxAge : trendRollups.getRetention());
+
+        long replayed = 0;
+        int restored = 0;
+        long afterId = 0;
+        while (true) {
+            List<BikeTrendEntity> page = repository.findByIdGreaterThanAndTimestampGreaterThanEqualOrderByIdAsc(
+                    afterId, since, PageRequest.of(0, RESTORE_PAGE_SIZE));
+            List<BikeTrend> trends = new ArrayList<>(page.size());
+            List<BikeTrend> recent = new ArrayList<>(page.size());
+            for (BikeTrendEntity entity : page) {
+                BikeTrend trend = entity.toTrend();
+                trends.add(trend);
+                if (!trend.getTimestamp().isBefore(storeSince)) {
+                    recent.add(trend);
+                }
+            }
+            trendRollups.addAll(trends);
+            restored += trendStore.addAll(recent);
+            replayed += trends.size();
+            if (page.size() < RESTORE_PAGE_SIZE) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+        log.info("Restored {} bike trends and replayed {} into the rollups, recorded since {}", restored, replayed, since);
+
+        trendStore.addListener(this::enqueue);
+    }
+
+    /**
+     * Queues trends for the next flush without blocking. Trends that do not fit are dropped.
+     *
+     * @param trends the trends to persist
+     */
+    public void enqueue(List<BikeTrend> trends) {
+        for (BikeTrend trend : trends) {
+            if (!queue.offer(trend)) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Saves the queued trends in batches. Stops at the first failing batch, which is kept and retried
+     * first on the next flush.
+     *
+     * @return the number of trends saved
+     */
+    @Scheduled(fixedDelayString = "${bike.trends.persistence.flush-interval:PT10S}")
+    public synchronized int flush() {
+        long droppedSinceLastFlush = dropped.getAndSet(0);
+        if (droppedSinceLastFlush > 0) {
+            log.warn("Trend write queue was full, {} bike trends were not persisted", droppedSinceLastFlush);
+        }
+
+        int saved = 0;
+        while (true) {
+            List<BikeTrend> batch = failedBatch != null ? failedBatch : nextBatch();
+            if (batch.isEmpty()) {
+                return saved;
+            }
+            try {
+                repository.saveAll(toEntities(batch));
+            } catch (RuntimeException e) {
+                failedBatch = batch;
+                log.warn("Failed to persist {} bike trends, retrying on the next flush: {}", batch.size(), e.getMessage());
+                return saved;
+            }
+            failedBatch = null;
+            saved += batch.size();
+            written += batch.size();
+        }
+    }
+
+    /**
+     * Saves whatever is still queued before the application shuts down.
+     */
+    @PreDestroy
+    public void close() {
+        flush();
+        log.info("Persisted {} bike trends in total", written);
+    }
+
+    private List<BikeTrend> nextBatch() {
+        List<BikeTrend> trends = new ArrayList<>(batchSize);
+        queue.drainTo(trends, batchSize);
+        return trends;
+    }
+
+    /**
+     * Creates new entities for a batch. A failed save may already have assigned ids to the entities of
+     * the previous attempt, which would make Hibernate merge them instead of inserting.
+     */
+    private static List<BikeTrendEntity> toEntities(List<BikeTrend> trends) {
+        List<BikeTrendEntity> batch = new ArrayList<>(trends.size());
+        for (BikeTrend trend : trends) {
+            batch.add(new BikeTrendEntity(trend));
+        }
+        return batch;
+    }
+}
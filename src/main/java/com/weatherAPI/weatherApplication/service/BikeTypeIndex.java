@@ -0,0 +1,170 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.util.*;
+
+import com.weatherAPI.weatherApplication.model.BikeData;
+import com.weatherAPI.weatherApplication.model.BikeTypeDetails;
+
+/**
+ * Inverted index of a {@link BikeSnapshot} from bike type to the stations that have at least one bike
+ * of that type, built once per snapshot.
+ *
+ * <p>Each station is indexed once, with the first element the feed returned for it. The stations of a
+ * type are kept in descending order of their count, so a threshold query returns a prefix found by
+ * binary search.</p>
+ */
+public final class BikeTypeIndex {
+
+    private final Map<String, Postings> postings;
+
+    private BikeTypeIndex(Map<String, Postings> postings) {
+        this.postings = postings;
+    }
+
+    /**
+     * Builds the index of the bike data of a snapshot.
+     *
+     * @param bikeDataList the bike data of the snapshot
+     * @param stationIds   the station id of every element, or -1 for elements without a station name
+     * @return the index
+     */
+    static BikeTypeIndex build(List<BikeData> bikeDataList, int[] stationIds) {
+        Map<String, List<BikeData>> stationsByType = new HashMap<>();
+        BitSet seenStations = new BitSet();
+        for (int i = 0; i < stationIds.length; i++) {
+            BikeData bikeData = bikeDataList.get(i);
+            if (stationIds[i] < 0 || seenStations.get(stationIds[i])
+                    || bikeData.getMetadata() == null || bikeData.getMetadata().getBikes() == null) {
+                continue;
+            }
+            seenStations.set(stationIds[i]);
+            for (Map.Entry<String, Integer> bikes : bikeData.getMetadata().getBikes().entrySet()) {
+                if (bikes.getValue() != null && bikes.getValue() > 0) {
+                    stationsByType.computeIfAbsent(bikes.getKey(), type -> new ArrayList<>()).add(bikeData);
+                }
+            }
+        }
+
+        Map<String, Postings> postings = new HashMap<>(stationsByType.size() * 2);
+        stationsByType.forEach((type, stations) -> postings.put(type, new Postings(type, stations)));
+        return new BikeTypeIndex(postings);
+    }
+
+    /**
+     * Retrieves the stations with at least {@code minCount} bikes of a type, in descending order of count.
+     *
+     * @param bikeType the bike type
+     * @param minCount the minimum number of bikes; values below 1 are treated as 1
+     * @return one {@link BikeTypeDetails} per station, holding only the count of the requested type
+     */
+    public List<BikeTypeDetails> getStations(String bikeType, int minCount) {
+        Postings typePostings = postings.get(bikeType);
+        if (typePostings == null) {
+            return List.of();
+        }
+        int end = typePostings.end(minCount);
+        List<BikeTypeDetails> result = new ArrayList<>(end);
+        for (int i = 0; i < end; i++) {
+            result.add(details(typePostings.stations[i], Map.of(bikeType, typePostings.counts[i])));
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the stations with at least {@code minCount} bikes of any of several types. A station is
+     * returned once, with the count of every requested type that meets the threshold, and stations are
+     * ordered by the sum of those counts, descending.
+     *
+     * @param bikeTypes the bike types
+     * @param minCount  the minimum number of bikes of a type; values below 1 are treated as 1
+     * @return one {@link BikeTypeDetails} per matching station
+     */
+    public List<BikeTypeDetails> getStations(Collection<String> bikeTypes, int minCount) {
+        if (bikeTypes.size() == 1) {
+            return getStations(bikeTypes.iterator().next(), minCount);
+        }
+        Map<BikeData, Map<String, Integer>> matches = new LinkedHashMap<>();
+        for (String bikeType : new LinkedHashSet<>(bikeTypes)) {
+            Postings typePostings = postings.get(bikeType);
+            if (typePostings == null) {
+                continue;
+            }
+            int end = typePostings.end(minCount);
+            for (int i = 0; i < end; i++) {
+                matches.computeIfAbsent(typePostings.stations[i], station -> new LinkedHashMap<>())
+                        .put(bikeType, typePostings.counts[i]);
+            }
+        }
+
+        List<Map.Entry<BikeData, Map<String, Integer>>> entries = new ArrayList<>(matches.entrySet());
+        entries.sort(Comparator.comparingInt(
+                (Map.Entry<BikeData, Map<String, Integer>> entry) -> total(entry.getValue())).reversed());
+        List<BikeTypeDetails> result = new ArrayList<>(entries.size());
+        for (Map.Entry<BikeData, Map<String, Integer>> entry : entries) {
+            result.add(details(entry.getKey(), Collections.unmodifiableMap(entry.getValue())));
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the indexed bike types.
+     *
+     * @return the bike types with at least one station
+     */
+    public Set<String> getBikeTypes() {
+        return Collections.unmodifiableSet(postings.keySet());
+    }
+
+    private static int total(Map<String, Integer> counts) {
+        int total = 0;
+        for (int count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    private static BikeTypeDetails details(BikeData bikeData, Map<String, Integer> bikeTypes) {
+        BikeTypeDetails details = new BikeTypeDetails();
+        details.setStationName(bikeData.getStationName());
+        details.setMunicipality(bikeData.getMetadata().getMunicipality());
+        details.setBikeTypes(bikeTypes);
+        return details;
+    }
+
+    /**
+     * The stations of one bike type and their counts, sorted by count, descending. Stations with equal
+     * counts keep the feed order.
+     */
+    private static final class Postings {
+
+        private final BikeData[] stations;
+        private final int[] counts;
+
+        Postings(String bikeType, List<BikeData> unsorted) {
+            List<BikeData> sorted = new ArrayList<>(unsorted);
+            sorted.sort(Comparator.comparingInt((BikeData bikeData) -> bikeData.getMetadata().getBikes().get(bikeType)).reversed());
+            stations = sorted.toArray(new BikeData[0]);
+            counts = new int[stations.length];
+            for (int i = 0; i < stations.length; i++) {
+                counts[i] = stations[i].getMetadata().getBikes().get(bikeType);
+            }
+        }
+
+        /**
+         * Returns the number of stations with a count of at least {@code minCount}.
+         */
+        int end(int minCount) {
+            int low = 0;
+            int high = counts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (counts[mid] >= minCount) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
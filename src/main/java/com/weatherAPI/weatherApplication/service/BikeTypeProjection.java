@@ -0,0 +1,101 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.weatherAPI.weatherApplication.model.BikeData;
+import com.weatherAPI.weatherApplication.model.BikeTypeDetails;
+
+/**
+ * Immutable list of the {@link BikeTypeDetails} of a {@link BikeSnapshot}, one per element of the feed
+ * with bike metadata, built once per snapshot and shared by every request.
+ *
+ * <p>The list serializes itself: the first serialization renders it with the {@link ObjectMapper} of
+ * the response and keeps the JSON, encoded as UTF-8 bytes, which later responses written by the same
+ * mapper with the same generator features copy as is. A generator of another mapper renders and keeps
+ * its own JSON; one that pretty-prints or serializes with a view is served without the kept JSON. The
+ * elements are shared as well and must not be modified.</p>
+ *
+ * <p>Jackson only calls {@link #serialize} when the projection itself is the type being written: a
+ * handler has to declare {@code BikeTypeProjection} as its return type, since a declared
+ * {@code List<BikeTypeDetails>} makes the message converter serialize every element again.</p>
+ */
+public final class BikeTypeProjection extends AbstractList<BikeTypeDetails> implements RandomAccess, JsonSerializable {
+
+    private final List<BikeTypeDetails> details;
+
+    private volatile Rendered rendered;
+
+    private BikeTypeProjection(List<BikeTypeDetails> details) {
+        this.details = details;
+    }
+
+    /**
+     * Builds the projection of the bike data of a snapshot.
+     *
+     * @param bikeDataList the bike data of the snapshot
+     * @return the projection
+     */
+    public static BikeTypeProjection build(List<BikeData> bikeDataList) {
+        List<BikeTypeDetails> details = new ArrayList<>();
+        for (BikeData bikeData : bikeDataList) {
+            if (bikeData.getMetadata() != null && bikeData.getMetadata().getBikes() != null) {
+                BikeTypeDetails bikeTypeDetails = new BikeTypeDetails();
+                bikeTypeDetails.setStationName(bikeData.getStationName());
+                bikeTypeDetails.setBikeTypes(Collections.unmodifiableMap(bikeData.getMetadata().getBikes()));
+                bikeTypeDetails.setMunicipality(bikeData.getMetadata().getMunicipality());
+                details.add(bikeTypeDetails);
+            }
+        }
+        return new BikeTypeProjection(Collections.unmodifiableList(details));
+    }
+
+    @Override
+    public BikeTypeDetails get(int index) {
+        return details.get(index);
+    }
+
+    @Override
+    public int size() {
+        return details.size();
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        if (!(generator.getCodec() instanceof ObjectMapper objectMapper)
+                || generator.getPrettyPrinter() != null || serializers.getActiveView() != null) {
+            serializers.defaultSerializeValue(details, generator);
+            return;
+        }
+        Rendered current = rendered;
+        if (current == null || current.objectMapper() != objectMapper || current.features() != generator.getFeatureMask()) {
+            SerializedString json = new SerializedString(objectMapper.writeValueAsString(details));
+            json.asUnquotedUTF8();
+            current = new Rendered(objectMapper, generator.getFeatureMask(), json);
+            rendered = current;
+        }
+        generator.writeRawValue(current.json());
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSerializer)
+            throws IOException {
+        serialize(generator, serializers);
+    }
+
+    /**
+     * The JSON of the list as rendered by one mapper for generators with the given feature mask.
+     */
+    private record Rendered(ObjectMapper objectMapper, int features, SerializedString json) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.weatherAPI.weatherApplication.service;
+
+/**
+ * Great-circle distances from one origin to many stations, in kilometers.
+ *
+ * <p>Station coordinates are kept as a structure of arrays: latitude and longitude in radians and the
+ * cosine of the latitude, computed once when the kernel is created. A distance then costs no
+ * conversion and no cosine; the loop over the stations writes into a caller-provided {@code float[]}
+ * and allocates nothing.</p>
+ *
+ * <p>With a positive error bound, pairs that are close enough are measured with the equirectangular
+ * approximation, which needs neither {@code sin} nor {@code asin}. Its error grows with the cube of
+ * the distance and with the latitude; it stays below {@code d³ / (20 R² cos²φ)} for a distance
+ * {@code d} on a sphere of radius {@code R}, where {@code φ} is the larger absolute latitude of the
+ * pair. The kernel uses the approximation only where twice that bound is within the configured error,
+ * and the haversine formula everywhere else.</p>
+ */
+public final class GeoDistanceKernel {
+
+    static final double EARTH_RADIUS_KM = 6371;
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] cosLatitudes;
+    private final double maxErrorKm;
+
+    private GeoDistanceKernel(double[] latitudes, double[] longitudes, double maxErrorKm) {
+        this.latitudes = new double[latitudes.length];
+        this.longitudes = new double[latitudes.length];
+        this.cosLatitudes = new double[latitudes.length];
+        this.maxErrorKm = maxErrorKm;
+        for (int i = 0; i < latitudes.length; i++) {
+            this.latitudes[i] = Math.toRadians(latitudes[i]);
+            this.longitudes[i] = Math.toRadians(longitudes[i]);
+            this.cosLatitudes[i] = Math.cos(this.latitudes[i]);
+        }
+    }
+
+    /**
+     * Creates a kernel that always uses the haversine formula.
+     *
+     * @param latitudes  the latitude of every station, in degrees
+     * @param longitudes the longitude of every station, in degrees
+     * @return the kernel
+     */
+    public static GeoDistanceKernel of(double[] latitudes, double[] longitudes) {
+        return of(latitudes, longitudes, 0);
+    }
+
+    /**
+     * Creates a kernel that uses the equirectangular approximation where its error stays within a bound.
+     *
+     * @param latitudes  the latitude of every station, in degrees
+     * @param longitudes the longitude of every station, in degrees
+     * @param maxErrorKm the largest error accepted from the approximation, in kilometers; 0 to disable it
+     * @return the kernel
+     */
+    public static GeoDistanceKernel of(double[] latitudes, double[] longitudes, double maxErrorKm) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("latitudes and longitudes differ in length");
+        }
+        if (!(maxErrorKm >= 0)) {
+            throw new IllegalArgumentException("maxErrorKm must not be negative");
+        }
+        return new GeoDistanceKernel(latitudes, longitudes, maxErrorKm);
+    }
+
+    public int size() {
+        return latitudes.length;
+    }
+
+    /**
+     * Computes the distances from a point to the stations {@code from} (inclusive) to {@code to}
+     * (exclusive), writing the distance to station {@code j} at {@code out[offset + j - from]}.
+     */
+    public void distancesFrom(double latitude, double longitude, int from, int to, float[] out, int offset) {
+        double latRad = Math.toRadians(latitude);
+        distances(latRad, Math.toRadians(longitude), Math.cos(latRad), from, to, out, offset);
+    }
+
+    /**
+     * Computes the distances from a station of another kernel to the stations {@code from} (inclusive)
+     * to {@code to} (exclusive) of this one, writing the distance to station {@code j} at
+     * {@code out[offset + j - from]}. The origin kernel may be this one.
+     */
+    public void distancesFrom(GeoDistanceKernel origins, int origin, int from, int to, float[] out, int offset) {
+        distances(origins.latitudes[origin], origins.longitudes[origin], origins.cosLatitudes[origin],
+                from, to, out, offset);
+    }
+
+    private void distances(double latitude, double longitude, double cosLatitude,
+                           int from, int to, float[] out, int offset) {
+        // d³ / (10 R² cos²φ) <= maxError, compared squared on the squared distance: no sqrt or division.
+        double threshold = 10 * maxErrorKm / EARTH_RADIUS_KM;
+        for (int j = from; j < to; j++) {
+            double latDistance = latitudes[j] - latitude;
+            double lonDistance = longitudes[j] - longitude;
+            double cosMin = Math.min(cosLatitude, cosLatitudes[j]);
+
+            double x = lonDistance * (cosLatitude + cosLatitudes[j]) * 0.5;
+            double squared = x * x + latDistance * latDistance;
+            double bound = threshold * cosMin * cosMin;
+            double distance;
+            if (squared * squared * squared <= bound * bound && Math.abs(lonDistance) <= Math.PI) {
+                distance = Math.sqrt(squared);
+            } else {
+                double sinLat = Math.sin(latDistance * 0.5);
+                double sinLon = Math.sin(lonDistance * 0.5);
+                double a = sinLat * sinLat + cosLatitude * cosLatitudes[j] * sinLon * sinLon;
+                distance = 2 * Math.asin(Math.sqrt(Math.min(1, a)));
+            }
+            out[offset + j - from] = (float) (EARTH_RADIUS_KM * distance);
+        }
+    }
+}
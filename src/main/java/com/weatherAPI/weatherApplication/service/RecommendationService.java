@@ -1,65 +1,178 @@
 package com.weatherAPI.weatherApplication.service;
 
-import com.weatherAPI.weatherApplication.model.BikeTrend;
+import com.weatherAPI.weatherApplication.model.BikeStationDistance;
+import com.weatherAPI.weatherApplication.model.BikeStationNeighbor;
+import com.weatherAPI.weatherApplication.model.BikeStationRecommendation;
+import com.weatherAPI.weatherApplication.model.RankedBikeStation;
+import com.weatherAPI.weatherApplication.model.WeatherData.Forecast;
+import com.weatherAPI.weatherApplication.model.WeatherDistrict;
+import com.weatherAPI.weatherApplication.model.WeatherStationDistance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 /**
- * Service class responsible for generating recommendations based on bike trends and weather data.
- * It calculates distances between weather stations and bike stations, maps bike trends to stations,
- * and provides weather-related recommendations for bikes.
+ * Service class responsible for generating recommendations based on bike stations and weather data.
+ * It calculates distances between weather stations and bike stations and provides weather-related
+ * recommendations for bikes, page by page or as a stream of station entries.
  */
 @Service
 public class RecommendationService {
 
+    private static final Logger log = LoggerFactory.getLogger(RecommendationService.class);
+
     @Autowired
     private BikeService bikeService;
 
     @Autowired
-    private WeatherService weatherService;
+    private WeatherDistrictRegistry weatherDistrictRegistry;
+
+    @Value("${recommendations.distance-error-km:0}")
+    private double distanceErrorKm;
+
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_NEIGHBORS = 100;
+    static final int MAX_RANKED = 100;
+
+    static final int FULL_STATION_BIKES = 10;
+    static final double FAIR_WEATHER_REACH_KM = 10;
+    static final int COLD_MAX_TEMP = 5;
+    private static final Pattern WET_WEATHER = Pattern.compile("(?i)rain|shower|drizzle|snow|sleet|thunder|storm");
 
     /**
-     * Retrieves bike and weather recommendations including mapped bike trends, weather data,
-     * and calculated distances between bike stations and weather stations.
+     * Orders ranking candidates best first: by score, then by distance, then by position.
+     */
+    private static final Comparator<RankedCandidate> RANKING = Comparator
+            .comparingDouble(RankedCandidate::score).reversed()
+            .thenComparingDouble(RankedCandidate::distance)
+            .thenComparingInt(RankedCandidate::station);
+
+    /**
+     * Computes distance matrices, apart from the common pool shared with parallel streams.
+     */
+    private final ForkJoinPool matrixPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("distance-matrix-" + thread.getPoolIndex());
+        return thread;
+    }, null, false);
+
+    private volatile MatrixBuild matrixBuild;
+
+    /**
+     * Retrieves one page of bike and weather recommendations: weather data and, for each bike station,
+     * its distances to every weather station and to its nearest bike stations. Stations are ordered by
+     * their stable station id, so a cursor stays valid across snapshots.
      *
-     * @return a map containing weather data, bike stations with trends, and distances to stations.
+     * @param cursor    the cursor returned with the previous page, or null for the first page.
+     * @param limit     the maximum number of bike stations on the page.
+     * @param neighbors the number of nearest bike stations listed per station.
+     * @return a map containing weather data, the bike stations of the page with distances, and the cursor
+     *         of the next page, which is null after the last page; or an error if an argument is invalid.
      */
-    public Map<String, Object> getBikeWeatherRecommendations() {
-        List<Map<String, Object>> weatherData = getWeatherData();
-        List<BikeTrend> bikeTrends = bikeService.getTrends();
-        List<Map<String, Object>> bikeStations = bikeService.getBikeStations();
+    public Map<String, Object> getBikeWeatherRecommendations(String cursor, int limit, int neighbors) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Map.of("error", "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String error = validate(cursor, neighbors);
+        if (error != null) {
+            return Map.of("error", error);
+        }
 
-        List<Map<String, Object>> bikeStationsWithTrends = mapBikeTrends(bikeTrends);
-        List<Map<String, Object>> bikeStationsWithDistances = calculateBikeStationsDistances(bikeStations, weatherData);
+        Recommendations recommendations = new Recommendations(bikeService.getSnapshot(), weatherDistrictRegistry.getDistricts(), neighbors);
+        int start = recommendations.start(cursor);
+        int end = Math.min(start + limit, recommendations.size());
+        List<BikeStationRecommendation> bikeStationsWithDistances = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            bikeStationsWithDistances.add(recommendations.entry(i));
+        }
 
-        return Map.of(
-                "weatherData", weatherData,
-                "bikeStationsWithDistances", bikeStationsWithDistances,
-                "bikeStationsWithTrends", bikeStationsWithTrends
-        );
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("weatherData", recommendations.weatherDistricts.getDistricts());
+        page.put("bikeStationsWithDistances", bikeStationsWithDistances);
+        page.put("nextCursor", end < recommendations.size() ? recommendations.cursorAt(end - 1) : null);
+        return page;
+    }
+
+    /**
+     * Passes the recommendation entry of every bike station after the cursor to a consumer, one at a
+     * time, all from the same bike snapshot. See {@link #getBikeWeatherRecommendations(String, int, int)}.
+     * If an argument is invalid, the consumer receives a single error entry instead.
+     *
+     * @param cursor    the cursor of the last station already received, or null to start at the first.
+     * @param neighbors the number of nearest bike stations listed per station.
+     * @param consumer  receives each entry.
+     */
+    public void forEachBikeWeatherRecommendation(String cursor, int neighbors, Consumer<Object> consumer) {
+        String error = validate(cursor, neighbors);
+        if (error != null) {
+            consumer.accept(Map.of("error", error));
+            return;
+        }
+
+        Recommendations recommendations = new Recommendations(bikeService.getSnapshot(), weatherDistrictRegistry.getDistricts(), neighbors);
+        for (int i = recommendations.start(cursor); i < recommendations.size(); i++) {
+            consumer.accept(recommendations.entry(i));
+        }
+    }
+
+    /**
+     * Checks the cursor and neighbor count of a recommendation request.
+     *
+     * @return an error message, or null if both are valid.
+     */
+    private String validate(String cursor, int neighbors) {
+        if (neighbors < 0 || neighbors > MAX_NEIGHBORS) {
+            return "neighbors must be between 0 and " + MAX_NEIGHBORS;
+        }
+        if (cursor != null && !cursor.matches("\\d{1,9}")) {
+            return "Invalid cursor";
+        }
+        return null;
     }
 
     /**
-     * Calculates distances from a specified weather station to all bike stations.
+     * Calculates distances from a specified weather station to nearby bike stations, closest first.
+     * Stations are looked up in the spatial index of the current bike snapshot, so only stations near
+     * the weather station are visited.
      *
-     * @param weatherStationName the name of the weather station.
-     * @return a map containing the distances to bike stations or an error if the weather station is not found.
+     * @param weatherStationName the name, or a case-insensitive alias, of the weather district.
+     * @param k                  the maximum number of bike stations to return, or null for no limit.
+     * @param radiusKm           the maximum distance in kilometers, or null for no limit.
+     * @return a map containing the distances to bike stations or an error if the weather station is not found
+     *         or a limit is invalid.
      */
-    
-    public Map<String, Object> getDistancesToBikeStations(String weatherStationName) {
-        List<Map<String, Object>> weatherData = getWeatherData();
-        Optional<Map<String, Object>> weatherStationOpt = findWeatherStationByName(weatherData, weatherStationName);
+    public Map<String, Object> getDistancesToBikeStations(String weatherStationName, Integer k, Double radiusKm) {
+        if (k != null && k < 1) {
+            return Map.of("error", "k must be at least 1");
+        }
+        if (radiusKm != null && !(radiusKm >= 0)) {
+            return Map.of("error", "radiusKm must not be negative");
+        }
+
+        Optional<WeatherDistrict> weatherStationOpt = weatherDistrictRegistry.getDistricts().find(weatherStationName);
 
         if (weatherStationOpt.isEmpty()) {
             return Map.of("error", "Weather station not found");
         }
 
-        Map<String, Object> weatherStation = weatherStationOpt.get();
-        List<Map<String, Object>> bikeStations = bikeService.getBikeStations();
-        List<Map<String, Object>> bikeStationDistances = calculateDistancesToWeatherStation(weatherStation, bikeStations);
+        WeatherDistrict weatherStation = weatherStationOpt.get();
+        List<BikeStationDistance> bikeStationDistances = findNearbyBikeStations(weatherStation, bikeService.getSnapshot(),
+                k != null ? k : Integer.MAX_VALUE, radiusKm != null ? radiusKm : Double.POSITIVE_INFINITY);
 
         return Map.of(
                 "weatherStationName", weatherStationName,
@@ -68,150 +181,285 @@ public class RecommendationService {
     }
 
     /**
-     * Maps bike trends to a simplified data structure for easier processing.
+     * Ranks the bike stations around a weather district and returns the best ones. A station scores
+     * higher the more bikes it has, up to {@value #FULL_STATION_BIKES}, and lower the farther it is, in
+     * proportion to how far people ride to a station in that weather: {@value #FAIR_WEATHER_REACH_KM} km
+     * on a fair day, half of it when the district's forecast for the day calls for rain, snow or storms
+     * and three quarters of it below {@value #COLD_MAX_TEMP} degrees. Stations without bikes are left out.
      *
-     * @param bikeTrends a list of bike trend data.
-     * @return a list of maps containing bike trend information.
-     */
-    
-    private List<Map<String, Object>> mapBikeTrends(List<BikeTrend> bikeTrends) {
-    	return bikeTrends.stream()
-    	        .map(trend -> {
-    	            Map<String, Object> trendMap = new HashMap<>();
-    	            trendMap.put("stationName", trend.getStationName());
-    	            trendMap.put("availableBikes", trend.getAvailableBikes());
-    	            trendMap.put("timestamp", trend.getTimestamp());
-    	            trendMap.put("latitude", trend.getLatitude());
-    	            trendMap.put("longitude", trend.getLongitude());
-    	            return trendMap;
-    	        })
-    	        .collect(Collectors.toList());
-
-    }
-
-    /**
-     * Calculates distances between bike stations and other stations (weather or bike).
-     * Augments bike station data with distance information.
+     * <p>Distances to all stations come from one pass of the snapshot's distance kernel; a min-heap of at
+     * most {@code k} stations keeps the best, so a request costs O(n log k) for n stations.</p>
      *
-     * @param bikeStations a list of bike station data.
-     * @param weatherData  a list of weather station data.
-     * @return a list of bike stations with calculated distances to other stations.
+     * @param weatherStationName the name, or a case-insensitive alias, of the weather district.
+     * @param k                  the number of stations to return.
+     * @param radiusKm           the maximum distance in kilometers, or null for no limit.
+     * @return a map containing the district, its forecast and the best stations, best first; or an error
+     *         if the district is not found or an argument is invalid.
      */
-    private List<Map<String, Object>> calculateBikeStationsDistances(List<Map<String, Object>> bikeStations, List<Map<String, Object>> weatherData) {
-        return bikeStations.stream().map(station -> {
-            Double stationLat = (Double) station.get("latitude");
-            Double stationLon = (Double) station.get("longitude");
+    public Map<String, Object> getRankedBikeStations(String weatherStationName, int k, Double radiusKm) {
+        if (k < 1 || k > MAX_RANKED) {
+            return Map.of("error", "k must be between 1 and " + MAX_RANKED);
+        }
+        if (radiusKm != null && !(radiusKm >= 0)) {
+            return Map.of("error", "radiusKm must not be negative");
+        }
+        WeatherDistricts weatherDistricts = weatherDistrictRegistry.getDistricts();
+        Optional<WeatherDistrict> weatherStationOpt = weatherDistricts.find(weatherStationName);
+        if (weatherStationOpt.isEmpty()) {
+            return Map.of("error", "Weather station not found");
+        }
 
-            if (stationLat == null || stationLon == null) return null;
+        WeatherDistrict district = weatherStationOpt.get();
+        Forecast forecast = weatherDistricts.getCurrentForecast(district).orElse(null);
+        double reachKm = FAIR_WEATHER_REACH_KM * weatherFactor(forecast);
+        double maxDistance = radiusKm != null ? radiusKm : Double.POSITIVE_INFINITY;
 
-            Map<String, Object> bikeStationDetails = new HashMap<>(station);
+        BikeSnapshot snapshot = bikeService.getSnapshot();
+        List<Map<String, Object>> bikeStations = snapshot.getStations();
+        float[] distances = new float[bikeStations.size()];
+        snapshot.getDistanceKernel().distancesFrom(district.latitude(), district.longitude(), 0, distances.length, distances, 0);
 
-            bikeStationDetails.put("distancesToWeatherStations", calculateDistancesToStations(stationLat, stationLon, weatherData, "DistrictName"));
-            bikeStationDetails.put("distancesToBikeStations", calculateDistancesToStations(stationLat, stationLon, bikeStations, "stationName"));
+        PriorityQueue<RankedCandidate> best = new PriorityQueue<>(k + 1, RANKING.reversed());
+        for (int i = 0; i < distances.length; i++) {
+            int availableBikes = ((Number) bikeStations.get(i).get("availableBikes")).intValue();
+            if (availableBikes <= 0 || distances[i] > maxDistance) {
+                continue;
+            }
+            double score = Math.min(availableBikes, FULL_STATION_BIKES) / (double) FULL_STATION_BIKES - distances[i] / reachKm;
+            RankedCandidate candidate = new RankedCandidate(i, distances[i], score);
+            if (best.size() < k) {
+                best.add(candidate);
+            } else if (RANKING.compare(candidate, best.peek()) < 0) {
+                best.poll();
+                best.add(candidate);
+            }
+        }
 
-            return bikeStationDetails;
-        }).filter(Objects::nonNull).collect(Collectors.toList());
+        RankedBikeStation[] ranked = new RankedBikeStation[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            RankedCandidate candidate = best.poll();
+            Map<String, Object> bikeStation = bikeStations.get(candidate.station());
+            ranked[i] = new RankedBikeStation(
+                    ((Number) bikeStation.get("stationId")).intValue(),
+                    (String) bikeStation.get("stationName"),
+                    ((Number) bikeStation.get("availableBikes")).intValue(),
+                    Math.round(candidate.distance() * 10) / 10.0,
+                    Math.round(candidate.score() * 1000) / 1000.0);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("weatherStationName", district.districtName());
+        response.put("weatherDescription", forecast != null ? forecast.getWeatherDescription() : null);
+        response.put("rankedBikeStations", Arrays.asList(ranked));
+        return response;
     }
 
     /**
-     * Computes distances between a given point and a list of stations (weather or bike).
-     *
-     * @param lat1    the latitude of the origin point.
-     * @param lon1    the longitude of the origin point.
-     * @param stations a list of station data.
-     * @param nameKey the key for identifying the station (e.g., "DistrictName" or "stationName").
-     * @return a list of maps containing station names and their distances from the origin point.
-     */
-    private List<Map<String, Object>> calculateDistancesToStations(Double lat1, Double lon1, List<Map<String, Object>> stations, String nameKey) {
-        return stations.stream().map(station -> {
-            Double stationLat = (Double) station.get("latitude");
-            Double stationLon = (Double) station.get("longitude");
-
-            if (stationLat == null || stationLon == null) return null;
-
-            double distance = Math.round(calculateDistance(lat1, lon1, stationLat, stationLon));
-
-            return Map.of(
-                    nameKey, station.get(nameKey),
-                    "distance", distance
-            );
-        }).filter(Objects::nonNull).collect(Collectors.toList());
+     * Returns the share of the fair-weather reach that people ride in the forecast weather.
+     */
+    private static double weatherFactor(Forecast forecast) {
+        if (forecast == null) {
+            return 1;
+        }
+        double factor = 1;
+        if (forecast.getWeatherDescription() != null && WET_WEATHER.matcher(forecast.getWeatherDescription()).find()) {
+            factor *= 0.5;
+        }
+        if (forecast.getMaxTemp() < COLD_MAX_TEMP) {
+            factor *= 0.75;
+        }
+        return factor;
     }
 
     /**
-     * Calculates distances between a specified weather station and all bike stations.
-     *
-     * @param weatherStation the weather station data.
-     * @param bikeStations   a list of bike station data.
-     * @return a list of maps containing bike station names, distances, and available bikes.
+     * A station competing for a place in the ranking, by position in the snapshot's station list.
      */
-    private List<Map<String, Object>> calculateDistancesToWeatherStation(Map<String, Object> weatherStation, List<Map<String, Object>> bikeStations) {
-        Double weatherLat = (Double) weatherStation.get("Latitude");
-        Double weatherLon = (Double) weatherStation.get("Longitude");
+    private record RankedCandidate(int station, float distance, double score) {
+    }
 
-        return bikeStations.stream().map(bikeStation -> {
-            Double stationLat = (Double) bikeStation.get("latitude");
-            Double stationLon = (Double) bikeStation.get("longitude");
+    /**
+     * Recommendation entries of one bike snapshot, in the snapshot's station id order.
+     */
+    private final class Recommendations {
 
-            if (stationLat == null || stationLon == null) return null;
+        private final BikeSnapshot snapshot;
+        private final List<Map<String, Object>> bikeStations;
+        private final WeatherDistricts weatherDistricts;
+        private final int neighbors;
+        private final StationDistanceMatrix distances;
+        private final int[] order;
 
-            double distance = Math.round(calculateDistance(weatherLat, weatherLon, stationLat, stationLon));
+        Recommendations(BikeSnapshot snapshot, WeatherDistricts weatherDistricts, int neighbors) {
+            this.snapshot = snapshot;
+            this.bikeStations = snapshot.getStations();
+            this.weatherDistricts = weatherDistricts;
+            this.neighbors = neighbors;
+            this.distances = getDistanceMatrix(snapshot, weatherDistricts);
+            this.order = snapshot.getStationOrder();
+        }
 
-            return Map.of(
-                    "bikeStationName", bikeStation.get("stationName"),
-                    "distance", distance,
-                    "availableBikes", bikeStation.get("availableBikes")
-            );
-        }).filter(Objects::nonNull).collect(Collectors.toList());
+        int size() {
+            return order.length;
+        }
+
+        /**
+         * Returns the position in {@link #order} of the first station after the cursor.
+         */
+        int start(String cursor) {
+            return cursor == null ? 0 : snapshot.indexAfterStationId(Integer.parseInt(cursor));
+        }
+
+        String cursorAt(int index) {
+            return Integer.toString(snapshot.getStationIdInOrder(index));
+        }
+
+        /**
+         * Builds the entry of the station at a position in {@link #order}: its details, its distances to
+         * every weather station and its nearest bike stations, closest first.
+         */
+        BikeStationRecommendation entry(int index) {
+            int station = order[index];
+            Map<String, Object> bikeStation = bikeStations.get(station);
+
+            List<WeatherDistrict> districts = weatherDistricts.getDistricts();
+            List<WeatherStationDistance> toWeatherStations = new ArrayList<>(districts.size());
+            for (int j = 0; j < districts.size(); j++) {
+                toWeatherStations.add(new WeatherStationDistance(districts.get(j).districtName(),
+                        Math.round(distances.toWeatherStation(station, j))));
+            }
+            int count = Math.min(neighbors, distances.neighborCount());
+            List<BikeStationNeighbor> toBikeStations = new ArrayList<>(count);
+            for (int rank = 0; rank < count; rank++) {
+                toBikeStations.add(new BikeStationNeighbor(
+                        (String) bikeStations.get(distances.neighbor(station, rank)).get("stationName"),
+                        Math.round(distances.neighborDistance(station, rank))));
+            }
+
+            return new BikeStationRecommendation(
+                    snapshot.getStationIdInOrder(index),
+                    (String) bikeStation.get("stationName"),
+                    ((Number) bikeStation.get("availableBikes")).intValue(),
+                    ((Number) bikeStation.get("latitude")).doubleValue(),
+                    ((Number) bikeStation.get("longitude")).doubleValue(),
+                    toWeatherStations,
+                    toBikeStations);
+        }
     }
 
     /**
-     * Searches for a weather station by name from a list of weather data.
-     *
-     * @param weatherData        a list of weather station data.
-     * @param weatherStationName the name of the weather station to search for.
-     * @return an Optional containing the weather station if found, or empty if not.
-     */
-    private Optional<Map<String, Object>> findWeatherStationByName(List<Map<String, Object>> weatherData, String weatherStationName) {
-        return weatherData.stream()
-                .filter(weather -> weatherStationName.equals(weather.get("DistrictName")))
-                .findFirst();
+     * Starts computing the distance matrix of every new bike snapshot as it arrives, so requests rarely
+     * have to wait for it. The listener only hands the snapshot to {@link #matrixPool}, which uses the
+     * weather districts already loaded rather than fetching the weather feed.
+     */
+    @PostConstruct
+    public void prepareDistanceMatrices() {
+        bikeService.addSnapshotListener(snapshot -> {
+            try {
+                matrixPool.execute(() -> {
+                    try {
+                        distanceMatrixFor(snapshot, weatherDistrictRegistry.getLoadedDistricts());
+                    } catch (RuntimeException e) {
+                        log.warn("Could not prepare the distance matrix of the new bike snapshot: {}", e.getMessage());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.debug("Not preparing the distance matrix of the new bike snapshot, the pool is shut down");
+            }
+        });
     }
 
     /**
-     * Retrieves predefined weather data.
+     * Stops the threads computing distance matrices.
+     */
+    @PreDestroy
+    public void close() {
+        matrixPool.shutdownNow();
+    }
+
+    /**
+     * Retrieves the distance matrix for the stations of a snapshot, waiting for it if it is still being
+     * computed.
      *
-     * @return a list of maps representing weather station data.
-     */
-    private List<Map<String, Object>> getWeatherData() {
-        return Arrays.asList(
-                Map.of("DistrictName", "Bolzano, Überetsch and Unterland", "Latitude", 46.498, "Longitude", 11.354),
-                Map.of("DistrictName", "Burggrafenamt - Meran and surroundings", "Latitude", 46.67, "Longitude", 11.162),
-                Map.of("DistrictName", "Vinschgau", "Latitude", 46.69, "Longitude", 10.55),
-                Map.of("DistrictName", "Eisacktal and Sarntal", "Latitude", 46.6, "Longitude", 11.5),
-                Map.of("DistrictName", "Wipptal - Sterzing and surroundings", "Latitude", 46.85, "Longitude", 11.4),
-                Map.of("DistrictName", "Pustertal", "Latitude", 46.7, "Longitude", 11.9),
-                Map.of("DistrictName", "Ladinia - Dolomites", "Latitude", 46.5, "Longitude", 11.4)
-        );
+     * @param snapshot         the bike snapshot.
+     * @param weatherDistricts the weather districts.
+     * @return the distance matrix, indexed by position in the snapshot's stations and the districts.
+     */
+    private StationDistanceMatrix getDistanceMatrix(BikeSnapshot snapshot, WeatherDistricts weatherDistricts) {
+        try {
+            return distanceMatrixFor(snapshot, weatherDistricts).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the distance matrix of a snapshot and set of districts, starting its computation if no
+     * request did yet, or if computing it failed. Only one matrix is computed at a time, on
+     * {@link #matrixPool}: the one for a new snapshot starts once the previous one is done, and reuses it
+     * if the coordinates did not change.
+     */
+    private CompletableFuture<StationDistanceMatrix> distanceMatrixFor(BikeSnapshot snapshot, WeatherDistricts weatherDistricts) {
+        MatrixBuild build = matrixBuild;
+        if (build != null && build.isFor(snapshot, weatherDistricts)) {
+            return build.matrix();
+        }
+        synchronized (this) {
+            build = matrixBuild;
+            if (build != null && build.isFor(snapshot, weatherDistricts)) {
+                return build.matrix();
+            }
+            CompletableFuture<StationDistanceMatrix> previous = build != null
+                    ? build.matrix() : CompletableFuture.completedFuture(null);
+            CompletableFuture<StationDistanceMatrix> matrix = previous.handleAsync((previousMatrix, error) ->
+                    previousMatrix != null && previousMatrix.isFor(snapshot.getLatitudes(), snapshot.getLongitudes(),
+                            weatherDistricts.getLatitudes(), weatherDistricts.getLongitudes(), distanceErrorKm, MAX_NEIGHBORS)
+                            ? previousMatrix
+                            : StationDistanceMatrix.build(snapshot.getLatitudes(), snapshot.getLongitudes(),
+                                    weatherDistricts.getLatitudes(), weatherDistricts.getLongitudes(),
+                                    distanceErrorKm, MAX_NEIGHBORS, matrixPool),
+                    matrixPool);
+            matrixBuild = new MatrixBuild(snapshot, weatherDistricts, matrix);
+            return matrix;
+        }
     }
 
     /**
-     * Calculates the distance in kilometers between two geographical coordinates.
+     * The distance matrix of a snapshot and set of districts, possibly still being computed.
+     */
+    private record MatrixBuild(BikeSnapshot snapshot, WeatherDistricts weatherDistricts,
+                               CompletableFuture<StationDistanceMatrix> matrix) {
+
+        boolean isFor(BikeSnapshot snapshot, WeatherDistricts weatherDistricts) {
+            return this.snapshot == snapshot && this.weatherDistricts == weatherDistricts
+                    && !matrix.isCompletedExceptionally();
+        }
+    }
+
+    /**
+     * Finds the bike stations of a snapshot closest to a weather station.
      *
-     * @param lat1 the latitude of the first point.
-     * @param lon1 the longitude of the first point.
-     * @param lat2 the latitude of the second point.
-     * @param lon2 the longitude of the second point.
-     * @return the calculated distance in kilometers.
-     */
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371;
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
+     * @param weatherStation the weather district.
+     * @param snapshot       the bike snapshot to search.
+     * @param k              the maximum number of bike stations to return.
+     * @param radiusKm       the maximum distance in kilometers.
+     * @return the bike stations with their distances and available bikes, closest first.
+     */
+    private List<BikeStationDistance> findNearbyBikeStations(WeatherDistrict weatherStation, BikeSnapshot snapshot,
+                                                             int k, double radiusKm) {
+        List<Map<String, Object>> bikeStations = snapshot.getStations();
+
+        List<BikeStationDistance> distances = new ArrayList<>();
+        for (StationSpatialIndex.Neighbor neighbor : snapshot.getStationIndex().nearest(weatherStation.latitude(),
+                weatherStation.longitude(), k, radiusKm)) {
+            Map<String, Object> bikeStation = bikeStations.get(neighbor.station());
+            distances.add(new BikeStationDistance(
+                    (String) bikeStation.get("stationName"),
+                    Math.round(neighbor.distanceKm()),
+                    ((Number) bikeStation.get("availableBikes")).intValue()));
+        }
+        return distances;
     }
 }
@@ -0,0 +1,187 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.weatherAPI.weatherApplication.model.CacheStats;
+
+/**
+ * Holds the latest value produced by an expensive loader, typically a call to an upstream API.
+ *
+ * <p>A value is fresh for the configured time-to-live. At most one load runs at a time: callers that
+ * need a value while a load is in flight wait for that same load instead of starting their own. With
+ * stale-while-revalidate enabled, an expired value is still returned immediately while a refresh runs
+ * in the background; callers only wait when there is no value at all.</p>
+ *
+ * @param <T> the type of the cached value
+ */
+public class SnapshotCache<T> {
+
+    private final Supplier<T> loader;
+    private final Duration ttl;
+    private final boolean staleWhileRevalidate;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private volatile Entry<T> entry;
+    private final AtomicReference<CompletableFuture<T>> inFlight = new AtomicReference<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+    private volatile long lastLoadNanos;
+
+    /**
+     * Creates a cache that refreshes stale values on a dedicated background thread.
+     *
+     * @param name                 the name used for the background refresh thread
+     * @param loader               produces a new value; may throw to signal a failed load
+     * @param ttl                  how long a loaded value is considered fresh
+     * @param staleWhileRevalidate whether expired values are served while a refresh runs
+     */
+    public SnapshotCache(String name, Supplier<T> loader, Duration ttl, boolean staleWhileRevalidate) {
+        this(loader, ttl, staleWhileRevalidate, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-refresh");
+            thread.setDaemon(true);
+            return thread;
+        }), Clock.systemUTC());
+    }
+
+    SnapshotCache(Supplier<T> loader, Duration ttl, boolean staleWhileRevalidate, Executor refreshExecutor, Clock clock) {
+        this.loader = loader;
+        this.ttl = ttl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached value, loading it first if there is none or it has expired. With
+     * stale-while-revalidate, an expired value is returned as is and refreshed in the background.
+     *
+     * @return the cached value
+     */
+    public T get() {
+        Entry<T> current = entry;
+        if (current != null && !current.isExpired(ttl, clock.instant())) {
+            hits.increment();
+            return current.value();
+        }
+        if (current != null && staleWhileRevalidate) {
+            staleHits.increment();
+            load(refreshExecutor);
+            return current.value();
+        }
+        misses.increment();
+        return join(load(Runnable::run));
+    }
+
+    /**
+     * Loads a new value regardless of the age of the cached one, joining a load that is already in flight.
+     *
+     * @return the newly loaded value
+     */
+    public T refresh() {
+        return join(load(Runnable::run));
+    }
+
+    /**
+     * Returns the cached value without loading, even if it has expired.
+     *
+     * @return the cached value, or null if nothing has been loaded yet
+     */
+    public T peek() {
+        Entry<T> current = entry;
+        return current != null ? current.value() : null;
+    }
+
+    /**
+     * Retrieves the hit, miss and load counters of this cache.
+     *
+     * @return a {@link CacheStats} snapshot
+     */
+    public CacheStats getStats() {
+        long loadCount = loads.sum();
+        Entry<T> current = entry;
+        return new CacheStats(
+                hits.sum(),
+                staleHits.sum(),
+                misses.sum(),
+                loadCount,
+                loadFailures.sum(),
+                loadCount > 0 ? totalLoadNanos.sum() / loadCount / 1_000_000.0 : 0.0,
+                lastLoadNanos / 1_000_000.0,
+                current != null ? Duration.between(current.loadedAt(), clock.instant()).toMillis() : -1,
+                ttl);
+    }
+
+    /**
+     * Starts a load on the given executor, unless one is already in flight.
+     *
+     * @param executor runs the load; {@code Runnable::run} loads on the calling thread
+     * @return the future of the load in flight
+     */
+    private CompletableFuture<T> load(Executor executor) {
+        while (true) {
+            CompletableFuture<T> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<T> future = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, future)) {
+                executor.execute(() -> runLoad(future));
+                return future;
+            }
+        }
+    }
+
+    private void runLoad(CompletableFuture<T> future) {
+        long start = System.nanoTime();
+        try {
+            T value = loader.get();
+            entry = new Entry<>(value, clock.instant());
+            future.complete(value);
+        } catch (RuntimeException | Error e) {
+            loadFailures.increment();
+            future.completeExceptionally(e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            loads.increment();
+            totalLoadNanos.add(elapsed);
+            lastLoadNanos = elapsed;
+            inFlight.compareAndSet(future, null);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry<T>(T value, Instant loadedAt) {
+
+        boolean isExpired(Duration ttl, Instant now) {
+            return loadedAt.plus(ttl).isBefore(now);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Precomputed great-circle distances from every bike station to its nearest bike stations and to every
+ * weather station, in kilometers.
+ *
+ * <p>Rather than all pairs of bike stations, which grow quadratically, each station keeps only its
+ * {@code neighbors} nearest other stations, closest first, in flat {@code int[]} and {@code float[]}
+ * arrays. Distances to weather stations are kept row by row in a {@code float[]}. A matrix is built
+ * for one set of coordinates and stays valid for as long as {@link #isFor} holds.</p>
+ *
+ * <p>Rows are computed by a {@link ForkJoinPool} in blocks of {@value #BLOCK_ROWS} stations. Each block
+ * fills one scratch row with a {@link GeoDistanceKernel} per station and keeps its nearest entries, so
+ * besides the result at most one row per worker thread is in memory.</p>
+ */
+public final class StationDistanceMatrix {
+
+    static final int BLOCK_ROWS = 64;
+
+    /**
+     * The largest number of entries of one array, a little below {@code Integer.MAX_VALUE} as JVMs reserve
+     * some header words.
+     */
+    static final int MAX_ENTRIES = Integer.MAX_VALUE - 8;
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] weatherLatitudes;
+    private final double[] weatherLongitudes;
+    private final double maxErrorKm;
+    private final int neighbors;
+
+    private final GeoDistanceKernel bikeKernel;
+    private final GeoDistanceKernel weatherKernel;
+
+    private final int[] nearest;
+    private final float[] nearestDistances;
+    private final float[] toWeatherStations;
+
+    private StationDistanceMatrix(double[] latitudes, double[] longitudes,
+                                  double[] weatherLatitudes, double[] weatherLongitudes,
+                                  double maxErrorKm, int neighbors) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.weatherLatitudes = weatherLatitudes;
+        this.weatherLongitudes = weatherLongitudes;
+        this.maxErrorKm = maxErrorKm;
+        this.neighbors = neighbors;
+
+        int stations = latitudes.length;
+        this.bikeKernel = GeoDistanceKernel.of(latitudes, longitudes, maxErrorKm);
+        this.weatherKernel = GeoDistanceKernel.of(weatherLatitudes, weatherLongitudes, maxErrorKm);
+        this.nearest = new int[stations * neighborCount()];
+        this.nearestDistances = new float[nearest.length];
+        this.toWeatherStations = new float[stations * weatherLatitudes.length];
+    }
+
+    /**
+     * Computes the exact matrix for a set of coordinates, keeping every other station as a neighbor.
+     * The arrays are kept and must not be modified. Memory grows with the square of the stations, so
+     * this is only meant as a reference for small inputs.
+     *
+     * @param latitudes         the latitude of every bike station, in degrees
+     * @param longitudes        the longitude of every bike station, in degrees
+     * @param weatherLatitudes  the latitude of every weather station, in degrees
+     * @param weatherLongitudes the longitude of every weather station, in degrees
+     * @return the matrix
+     */
+    static StationDistanceMatrix build(double[] latitudes, double[] longitudes,
+                                       double[] weatherLatitudes, double[] weatherLongitudes) {
+        return build(latitudes, longitudes, weatherLatitudes, weatherLongitudes, 0,
+                Math.max(0, latitudes.length - 1), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the matrix for a set of coordinates, approximating short distances within an error bound.
+     * The arrays are kept and must not be modified.
+     *
+     * @param latitudes         the latitude of every bike station, in degrees
+     * @param longitudes        the longitude of every bike station, in degrees
+     * @param weatherLatitudes  the latitude of every weather station, in degrees
+     * @param weatherLongitudes the longitude of every weather station, in degrees
+     * @param maxErrorKm        the error accepted per distance, in kilometers; 0 for exact distances
+     * @param neighbors         the number of nearest bike stations kept per station
+     * @param pool              the pool that computes the rows
+     * @return the matrix
+     * @throws IllegalArgumentException if {@code neighbors} is negative or the neighbor or weather station
+     *                                  arrays would exceed the maximum array size
+     * @see GeoDistanceKernel
+     */
+    public static StationDistanceMatrix build(double[] latitudes, double[] longitudes,
+                                              double[] weatherLatitudes, double[] weatherLongitudes,
+                                              double maxErrorKm, int neighbors, ForkJoinPool pool) {
+        if (neighbors < 0) {
+            throw new IllegalArgumentException("neighbors must not be negative");
+        }
+        long stations = latitudes.length;
+        if (stations * Math.min(neighbors, Math.max(0, stations - 1)) > MAX_ENTRIES
+                || stations * weatherLatitudes.length > MAX_ENTRIES) {
+            throw new IllegalArgumentException("A distance matrix of " + stations + " stations with " + neighbors
+                    + " neighbors and " + weatherLatitudes.length + " weather stations exceeds " + MAX_ENTRIES + " entries");
+        }
+        StationDistanceMatrix matrix = new StationDistanceMatrix(latitudes, longitudes, weatherLatitudes,
+                weatherLongitudes, maxErrorKm, neighbors);
+        pool.invoke(matrix.new RowBlock(0, latitudes.length));
+        return matrix;
+    }
+
+    /**
+     * Checks whether this matrix was built for exactly these coordinates, error bound and number of
+     * neighbors.
+     */
+    public boolean isFor(double[] latitudes, double[] longitudes, double[] weatherLatitudes, double[] weatherLongitudes,
+                         double maxErrorKm, int neighbors) {
+        return this.maxErrorKm == maxErrorKm && this.neighbors == neighbors
+                && Arrays.equals(this.latitudes, latitudes) && Arrays.equals(this.longitudes, longitudes)
+                && Arrays.equals(this.weatherLatitudes, weatherLatitudes)
+                && Arrays.equals(this.weatherLongitudes, weatherLongitudes);
+    }
+
+    /**
+     * Returns the number of nearest bike stations kept for every station.
+     */
+    public int neighborCount() {
+        return Math.min(neighbors, Math.max(0, latitudes.length - 1));
+    }
+
+    /**
+     * Returns the position of the {@code rank}-th nearest other bike station, 0 being the closest.
+     */
+    public int neighbor(int station, int rank) {
+        return nearest[station * neighborCount() + rank];
+    }
+
+    /**
+     * Returns the distance to the {@code rank}-th nearest other bike station.
+     */
+    public float neighborDistance(int station, int rank) {
+        return nearestDistances[station * neighborCount() + rank];
+    }
+
+    /**
+     * Returns the distance from a bike station to a weather station, given by their position.
+     */
+    public float toWeatherStation(int station, int weatherStation) {
+        return toWeatherStations[station * weatherLatitudes.length + weatherStation];
+    }
+
+    /**
+     * Calculates the distance in kilometers between two geographical coordinates, one pair at a time.
+     * Kept as the reference for {@link GeoDistanceKernel}.
+     *
+     * @param lat1 the latitude of the first point.
+     * @param lon1 the longitude of the first point.
+     * @param lat2 the latitude of the second point.
+     * @param lon2 the longitude of the second point.
+     * @return the calculated distance in kilometers.
+     */
+    static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return GeoDistanceKernel.EARTH_RADIUS_KM * c;
+    }
+
+    /**
+     * Computes the rows {@code from} (inclusive) to {@code to} (exclusive), splitting in halves down to
+     * {@value #BLOCK_ROWS} rows.
+     */
+    private final class RowBlock extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+
+        RowBlock(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BLOCK_ROWS) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RowBlock(from, middle), new RowBlock(middle, to));
+                return;
+            }
+            int stations = latitudes.length;
+            int weatherStations = weatherLatitudes.length;
+            float[] row = new float[stations];
+            for (int i = from; i < to; i++) {
+                bikeKernel.distancesFrom(bikeKernel, i, 0, stations, row, 0);
+                selectNearest(i, row);
+                weatherKernel.distancesFrom(bikeKernel, i, 0, weatherStations, toWeatherStations, i * weatherStations);
+            }
+        }
+
+        /**
+         * Keeps the nearest other stations of a row, closest first, by insertion into the sorted slice of
+         * the station. Of stations at the same distance, the one with the lower position comes first.
+         */
+        private void selectNearest(int station, float[] row) {
+            int capacity = neighborCount();
+            int offset = station * capacity;
+            int count = 0;
+            for (int j = 0; j < row.length && capacity > 0; j++) {
+                if (j == station) {
+                    continue;
+                }
+                float distance = row[j];
+                if (count == capacity && distance >= nearestDistances[offset + count - 1]) {
+                    continue;
+                }
+                int position = count < capacity ? count++ : count - 1;
+                while (position > 0 && nearestDistances[offset + position - 1] > distance) {
+                    nearest[offset + position] = nearest[offset + position - 1];
+                    nearestDistances[offset + position] = nearestDistances[offset + position - 1];
+                    position--;
+                }
+                nearest[offset + position] = j;
+                nearestDistances[offset + position] = distance;
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.weatherAPI.weatherApplication.model.BikeData;
+
+/**
+ * Assigns every physical bike station of the feed a stable integer id, so per-snapshot bookkeeping
+ * such as deduplication and change tracking can use bit sets and maps keyed by {@code int} instead of
+ * by name.
+ *
+ * <p>A physical station is identified by its name and coordinates, like the deduplication of the
+ * station list; a station without coordinates is treated as located at 0/0. Ids start at zero and are
+ * never reused while the application runs. Each registration covers a whole feed response: stations
+ * missing from it are retired, so a station that moves or comes back later gets a new id, and the
+ * registry only holds the stations of the latest response. Station names and municipality names are
+ * interned, so consecutive snapshots share one instance of each.</p>
+ *
+ * <p>Registration is serialized on the instance monitor.</p>
+ */
+@Component
+public class StationRegistry {
+
+    private Map<StationKey, Integer> ids = new HashMap<>();
+    private Map<String, String> strings = new HashMap<>();
+
+    private volatile int idCount;
+
+    /**
+     * Registers the stations of a feed response, retires the stations it does not contain and interns
+     * the names and municipalities in place.
+     *
+     * @param bikeDataList the bike data of a complete feed response
+     * @return the id of each element's station, or -1 for elements without a station name
+     */
+    public synchronized int[] register(List<BikeData> bikeDataList) {
+        Map<StationKey, Integer> previousIds = ids;
+        Map<String, String> previousStrings = strings;
+        ids = new HashMap<>(previousIds.size() * 2);
+        strings = new HashMap<>(previousStrings.size() * 2);
+
+        int[] stationIds = new int[bikeDataList.size()];
+        for (int i = 0; i < stationIds.length; i++) {
+            BikeData bikeData = bikeDataList.get(i);
+            if (bikeData.getMetadata() != null && bikeData.getMetadata().getMunicipality() != null) {
+                bikeData.getMetadata().setMunicipality(intern(bikeData.getMetadata().getMunicipality(), previousStrings));
+            }
+            if (bikeData.getStationName() == null) {
+                stationIds[i] = -1;
+                continue;
+            }
+            bikeData.setStationName(intern(bikeData.getStationName(), previousStrings));
+            double latitude = bikeData.getCoordinate() != null ? bikeData.getCoordinate().getLatitude() : 0.0;
+            double longitude = bikeData.getCoordinate() != null ? bikeData.getCoordinate().getLongitude() : 0.0;
+            stationIds[i] = idOf(new StationKey(bikeData.getStationName(), latitude, longitude), previousIds);
+        }
+        return stationIds;
+    }
+
+    /**
+     * Retrieves the number of ids assigned so far, retired ones included. Every id is below it.
+     *
+     * @return the smallest id not yet assigned
+     */
+    public int idCount() {
+        return idCount;
+    }
+
+    private int idOf(StationKey key, Map<StationKey, Integer> previousIds) {
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = previousIds.get(key);
+            if (id == null) {
+                id = idCount;
+                idCount = id + 1;
+            }
+            ids.put(key, id);
+        }
+        return id;
+    }
+
+    private String intern(String value, Map<String, String> previousStrings) {
+        String interned = strings.get(value);
+        if (interned == null) {
+            interned = previousStrings.getOrDefault(value, value);
+            strings.put(interned, interned);
+        }
+        return interned;
+    }
+
+    /**
+     * Identity of a physical station.
+     */
+    private record StationKey(String name, double latitude, double longitude) {
+    }
+}
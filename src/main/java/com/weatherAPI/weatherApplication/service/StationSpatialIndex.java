@@ -0,0 +1,272 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Static k-d tree over station coordinates answering k-nearest and radius queries by great-circle
+ * distance, built once per {@link BikeSnapshot}.
+ *
+ * <p>Coordinates are stored as points on the unit sphere. The straight-line (chord) distance between
+ * two such points grows with their great-circle distance, and the distance along one axis never
+ * exceeds the chord distance, so a subtree can be skipped as soon as its splitting plane is farther
+ * away than the current bound. Distances are reported in kilometers and equal the haversine
+ * distance.</p>
+ *
+ * <p>The tree is implicit: the points of a subtree occupy a range of the arrays with the splitting
+ * point in the middle. It is immutable once built and safe for concurrent queries.</p>
+ */
+public final class StationSpatialIndex {
+
+    static final double EARTH_RADIUS_KM = 6371;
+
+    private final int[] stations;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+    private final byte[] axes;
+
+    private StationSpatialIndex(int[] stations, double[] xs, double[] ys, double[] zs, byte[] axes) {
+        this.stations = stations;
+        this.xs = xs;
+        this.ys = ys;
+        this.zs = zs;
+        this.axes = axes;
+    }
+
+    /**
+     * Builds the index of a list of stations.
+     *
+     * @param latitudes  the latitude of every station, in degrees
+     * @param longitudes the longitude of every station, in degrees
+     * @return the index, whose results refer to stations by their position in the arrays
+     */
+    static StationSpatialIndex build(double[] latitudes, double[] longitudes) {
+        int size = latitudes.length;
+        int[] stations = new int[size];
+        double[][] points = new double[3][size];
+        for (int i = 0; i < size; i++) {
+            stations[i] = i;
+            double latitude = Math.toRadians(latitudes[i]);
+            double longitude = Math.toRadians(longitudes[i]);
+            points[0][i] = Math.cos(latitude) * Math.cos(longitude);
+            points[1][i] = Math.cos(latitude) * Math.sin(longitude);
+            points[2][i] = Math.sin(latitude);
+        }
+        byte[] axes = new byte[size];
+        split(stations, points, axes, 0, size);
+
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        double[] zs = new double[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = points[0][stations[i]];
+            ys[i] = points[1][stations[i]];
+            zs[i] = points[2][stations[i]];
+        }
+        return new StationSpatialIndex(stations, xs, ys, zs, axes);
+    }
+
+    /**
+     * Finds the stations closest to a point.
+     *
+     * @param latitude  the latitude of the point, in degrees
+     * @param longitude the longitude of the point, in degrees
+     * @param k         the maximum number of stations to return
+     * @param radiusKm  the maximum distance of a returned station, or {@link Double#POSITIVE_INFINITY}
+     * @return up to {@code k} stations within the radius, closest first
+     */
+    public List<Neighbor> nearest(double latitude, double longitude, int k, double radiusKm) {
+        if (k <= 0 || stations.length == 0) {
+            return List.of();
+        }
+        Search search = new Search(latitude, longitude, k, chordSquared(radiusKm));
+        search.visit(0, stations.length);
+
+        List<Neighbor> result = new ArrayList<>(search.found.size());
+        while (!search.found.isEmpty()) {
+            Candidate candidate = search.found.poll();
+            result.add(new Neighbor(stations[candidate.position()], toKilometers(candidate.chordSquared())));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Finds every station within a distance of a point.
+     *
+     * @param latitude  the latitude of the point, in degrees
+     * @param longitude the longitude of the point, in degrees
+     * @param radiusKm  the maximum distance of a returned station
+     * @return the stations within the radius, closest first
+     */
+    public List<Neighbor> withinRadius(double latitude, double longitude, double radiusKm) {
+        return nearest(latitude, longitude, stations.length, radiusKm);
+    }
+
+    /**
+     * Retrieves the number of indexed stations.
+     *
+     * @return the number of stations
+     */
+    public int size() {
+        return stations.length;
+    }
+
+    /**
+     * Arranges {@code stations[from, to)} as a subtree, splitting on the axis with the widest spread.
+     */
+    private static void split(int[] stations, double[][] points, byte[] axes, int from, int to) {
+        if (to - from <= 1) {
+            return;
+        }
+        byte axis = widestAxis(stations, points, from, to);
+        int middle = (from + to) >>> 1;
+        select(stations, points[axis], from, to - 1, middle);
+        axes[middle] = axis;
+        split(stations, points, axes, from, middle);
+        split(stations, points, axes, middle + 1, to);
+    }
+
+    private static byte widestAxis(int[] stations, double[][] points, int from, int to) {
+        byte widest = 0;
+        double widestSpread = -1;
+        for (byte axis = 0; axis < 3; axis++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                double value = points[axis][stations[i]];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > widestSpread) {
+                widest = axis;
+                widestSpread = max - min;
+            }
+        }
+        return widest;
+    }
+
+    /**
+     * Partially sorts {@code stations[low, high]} by coordinate so that position {@code n} holds its
+     * final element, with no greater coordinate before it and no smaller one after it.
+     */
+    private static void select(int[] stations, double[] values, int low, int high, int n) {
+        while (low < high) {
+            double pivot = values[stations[(low + high) >>> 1]];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (values[stations[i]] < pivot) {
+                    i++;
+                }
+                while (values[stations[j]] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = stations[i];
+                    stations[i++] = stations[j];
+                    stations[j--] = swap;
+                }
+            }
+            if (n <= j) {
+                high = j;
+            } else if (n >= i) {
+                low = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static double chordSquared(double kilometers) {
+        if (kilometers >= Math.PI * EARTH_RADIUS_KM) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double chord = 2 * Math.sin(kilometers / (2 * EARTH_RADIUS_KM));
+        return chord * chord;
+    }
+
+    private static double toKilometers(double chordSquared) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(chordSquared) / 2));
+    }
+
+    /**
+     * A station found by a query.
+     *
+     * @param station    the position of the station in the indexed list
+     * @param distanceKm the great-circle distance to the queried point, in kilometers
+     */
+    public record Neighbor(int station, double distanceKm) {
+    }
+
+    private record Candidate(int position, double chordSquared) {
+    }
+
+    /**
+     * The state of one query: the best stations so far, farthest first, and the current bound.
+     */
+    private final class Search {
+
+        private final double x;
+        private final double y;
+        private final double z;
+        private final int k;
+        private final PriorityQueue<Candidate> found =
+                new PriorityQueue<>(Comparator.comparingDouble(Candidate::chordSquared).reversed());
+        private double bound;
+
+        Search(double latitude, double longitude, int k, double radiusChordSquared) {
+            double latitudeRadians = Math.toRadians(latitude);
+            double longitudeRadians = Math.toRadians(longitude);
+            this.x = Math.cos(latitudeRadians) * Math.cos(longitudeRadians);
+            this.y = Math.cos(latitudeRadians) * Math.sin(longitudeRadians);
+            this.z = Math.sin(latitudeRadians);
+            this.k = k;
+            this.bound = radiusChordSquared;
+        }
+
+        void visit(int from, int to) {
+            if (from >= to) {
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            double dx = xs[middle] - x;
+            double dy = ys[middle] - y;
+            double dz = zs[middle] - z;
+            double distance = dx * dx + dy * dy + dz * dz;
+            if (distance <= bound) {
+                found.add(new Candidate(middle, distance));
+                if (found.size() > k) {
+                    found.poll();
+                }
+                if (found.size() == k) {
+                    bound = Math.min(bound, found.peek().chordSquared());
+                }
+            }
+            if (to - from == 1) {
+                return;
+            }
+
+            double offset = switch (axes[middle]) {
+                case 0 -> x - xs[middle];
+                case 1 -> y - ys[middle];
+                default -> z - zs[middle];
+            };
+            if (offset < 0) {
+                visit(from, middle);
+                if (offset * offset <= bound) {
+                    visit(middle + 1, to);
+                }
+            } else {
+                visit(middle + 1, to);
+                if (offset * offset <= bound) {
+                    visit(from, middle);
+                }
+            }
+        }
+    }
+}
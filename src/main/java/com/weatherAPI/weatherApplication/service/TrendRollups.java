@@ -0,0 +1,288 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.weatherAPI.weatherApplication.model.BikeTrend;
+import com.weatherAPI.weatherApplication.model.RollupBucket;
+import com.weatherAPI.weatherApplication.model.RollupResolution;
+import com.weatherAPI.weatherApplication.model.StationRollups;
+
+/**
+ * Hourly and daily availability aggregates per station (count, min, max, sum and last), updated with
+ * every ingested sample.
+ *
+ * <p>Unlike the {@link TrendStore}, which skips samples repeating a count already seen that day, the
+ * rollups see every poll, so averages are weighted by time. Each bucket costs a fixed number of bytes
+ * in per-station columns, and each resolution has its own retention, independent of how long raw
+ * samples are kept.</p>
+ *
+ * <p>Samples are expected in time order per station, as they come from the feed. A late sample still
+ * counts towards its bucket if that bucket is retained, but does not change its last value.</p>
+ *
+ * <p>Retention is measured from the newest sample of any station. Once per hour of samples the
+ * buckets of every station are expired against it, so a station that left the feed is dropped
+ * when its last daily bucket expires.</p>
+ *
+ * <p>Guarded by the instance monitor; both updates and queries are short.</p>
+ */
+@Component
+public class TrendRollups {
+
+    static final Duration DEFAULT_HOURLY_RETENTION = Duration.ofDays(90);
+    static final Duration DEFAULT_DAILY_RETENTION = Duration.ofDays(730);
+
+    private final Duration hourlyRetention;
+    private final Duration dailyRetention;
+
+    private final Map<String, Station> stations = new LinkedHashMap<>();
+
+    private long newestSecond = Long.MIN_VALUE;
+    private long expiredHour = Long.MIN_VALUE;
+
+    /**
+     * Creates rollups with the default retention.
+     */
+    public TrendRollups() {
+        this(DEFAULT_HOURLY_RETENTION, DEFAULT_DAILY_RETENTION);
+    }
+
+    /**
+     * Creates rollups with the given retention.
+     *
+     * @param hourlyRetention how long hourly buckets are kept
+     * @param dailyRetention  how long daily buckets are kept
+     */
+    @Autowired
+    public TrendRollups(@Value("${bike.rollups.hourly-retention:P90D}") Duration hourlyRetention,
+                        @Value("${bike.rollups.daily-retention:P730D}") Duration dailyRetention) {
+        this.hourlyRetention = hourlyRetention;
+        this.dailyRetention = dailyRetention;
+    }
+
+    /**
+     * Returns the longer of the hourly and daily retention, the age of the oldest sample that can still
+     * count towards a bucket.
+     */
+    Duration getRetention() {
+        return hourlyRetention.compareTo(dailyRetention) >= 0 ? hourlyRetention : dailyRetention;
+    }
+
+    /**
+     * Adds every sample to the hourly and daily buckets of its station.
+     *
+     * @param trends the ingested samples
+     */
+    public synchronized void addAll(Collection<BikeTrend> trends) {
+        for (BikeTrend trend : trends) {
+            long time = trend.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+            int count = trend.getAvailableBikes() != null ? trend.getAvailableBikes() : 0;
+            Station station = stations.computeIfAbsent(trend.getStationName(), name -> new Station());
+            station.hourly.add(time, count);
+            station.daily.add(time, count);
+            newestSecond = Math.max(newestSecond, time);
+        }
+        expireStations();
+    }
+
+    /**
+     * Expires the buckets of every station against the newest sample, at most once per hour of samples,
+     * and drops the stations left without buckets.
+     */
+    private void expireStations() {
+        if (newestSecond == Long.MIN_VALUE) {
+            return;
+        }
+        long hour = Math.floorDiv(newestSecond, RollupResolution.HOUR.getBucketSize().getSeconds());
+        if (hour == expiredHour) {
+            return;
+        }
+        expiredHour = hour;
+        Iterator<Station> iterator = stations.values().iterator();
+        while (iterator.hasNext()) {
+            Station station = iterator.next();
+            station.hourly.expire(newestSecond);
+            station.daily.expire(newestSecond);
+            if (station.hourly.isEmpty() && station.daily.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Retrieves the buckets of the given resolution that start within a time range.
+     *
+     * @param stationName the station to query, or null for every station
+     * @param resolution  the bucket resolution
+     * @param from        the earliest bucket start, inclusive, or null for the oldest bucket
+     * @param to          the latest bucket start, inclusive, or null for the newest bucket
+     * @return one {@link StationRollups} per matching station with buckets in range
+     */
+    public synchronized List<StationRollups> query(String stationName, RollupResolution resolution,
+                                                   LocalDateTime from, LocalDateTime to) {
+        long fromSecond = from != null ? from.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+        long toSecond = to != null ? to.toEpochSecond(ZoneOffset.UTC) : Long.MAX_VALUE;
+        if (fromSecond > toSecond) {
+            throw new IllegalArgumentException("The start of the range cannot be after its end.");
+        }
+
+        List<StationRollups> result = new ArrayList<>();
+        if (stationName != null) {
+            Station station = stations.get(stationName);
+            if (station != null) {
+                addRange(result, stationName, station, resolution, fromSecond, toSecond);
+            }
+            return result;
+        }
+        for (Map.Entry<String, Station> entry : stations.entrySet()) {
+            addRange(result, entry.getKey(), entry.getValue(), resolution, fromSecond, toSecond);
+        }
+        return result;
+    }
+
+    private static void addRange(List<StationRollups> result, String stationName, Station station,
+                                 RollupResolution resolution, long fromSecond, long toSecond) {
+        Columns columns = resolution == RollupResolution.HOUR ? station.hourly : station.daily;
+        List<RollupBucket> buckets = columns.range(fromSecond, toSecond);
+        if (!buckets.isEmpty()) {
+            result.add(new StationRollups(stationName, resolution, buckets));
+        }
+    }
+
+    /**
+     * Both resolutions of a single station.
+     */
+    private final class Station {
+
+        private final Columns hourly = new Columns(RollupResolution.HOUR.getBucketSize().getSeconds(), hourlyRetention.getSeconds());
+        private final Columns daily = new Columns(RollupResolution.DAY.getBucketSize().getSeconds(), dailyRetention.getSeconds());
+    }
+
+    /**
+     * Buckets of one station at one resolution, sorted by start, in parallel primitive columns.
+     */
+    private static final class Columns {
+
+        private static final int INITIAL_CAPACITY = 8;
+
+        private final long bucketSeconds;
+        private final long retentionSeconds;
+
+        private long[] starts = new long[INITIAL_CAPACITY];
+        private int[] counts = new int[INITIAL_CAPACITY];
+        private int[] mins = new int[INITIAL_CAPACITY];
+        private int[] maxs = new int[INITIAL_CAPACITY];
+        private long[] sums = new long[INITIAL_CAPACITY];
+        private int[] lasts = new int[INITIAL_CAPACITY];
+        private int size;
+
+        Columns(long bucketSeconds, long retentionSeconds) {
+            this.bucketSeconds = bucketSeconds;
+            this.retentionSeconds = retentionSeconds;
+        }
+
+        void add(long time, int value) {
+            long start = Math.floorDiv(time, bucketSeconds) * bucketSeconds;
+            if (size > 0 && starts[size - 1] == start) {
+                update(size - 1, value);
+                lasts[size - 1] = value;
+            } else if (size == 0 || starts[size - 1] < start) {
+                append(start, value);
+                expire(time);
+            } else {
+                int index = lowerBound(start);
+                if (index < size && starts[index] == start) {
+                    update(index, value);
+                }
+            }
+        }
+
+        /**
+         * Removes the buckets that fall out of retention once {@code time} is the newest sample.
+         */
+        void expire(long time) {
+            long start = Math.floorDiv(time, bucketSeconds) * bucketSeconds;
+            dropBefore(start + bucketSeconds - retentionSeconds);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void update(int index, int value) {
+            counts[index]++;
+            mins[index] = Math.min(mins[index], value);
+            maxs[index] = Math.max(maxs[index], value);
+            sums[index] += value;
+        }
+
+        private void append(long start, int value) {
+            if (size == starts.length) {
+                int capacity = size + (size >> 1);
+                starts = Arrays.copyOf(starts, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                mins = Arrays.copyOf(mins, capacity);
+                maxs = Arrays.copyOf(maxs, capacity);
+                sums = Arrays.copyOf(sums, capacity);
+                lasts = Arrays.copyOf(lasts, capacity);
+            }
+            starts[size] = start;
+            counts[size] = 1;
+            mins[size] = value;
+            maxs[size] = value;
+            sums[size] = value;
+            lasts[size] = value;
+            size++;
+        }
+
+        /**
+         * Removes the buckets starting before {@code time}.
+         */
+        private void dropBefore(long time) {
+            int dropped = lowerBound(time);
+            if (dropped == 0) {
+                return;
+            }
+            size -= dropped;
+            System.arraycopy(starts, dropped, starts, 0, size);
+            System.arraycopy(counts, dropped, counts, 0, size);
+            System.arraycopy(mins, dropped, mins, 0, size);
+            System.arraycopy(maxs, dropped, maxs, 0, size);
+            System.arraycopy(sums, dropped, sums, 0, size);
+            System.arraycopy(lasts, dropped, lasts, 0, size);
+        }
+
+        List<RollupBucket> range(long fromSecond, long toSecond) {
+            int end = toSecond == Long.MAX_VALUE ? size : lowerBound(toSecond + 1);
+            List<RollupBucket> buckets = new ArrayList<>();
+            for (int i = lowerBound(fromSecond); i < end; i++) {
+                buckets.add(new RollupBucket(LocalDateTime.ofEpochSecond(starts[i], 0, ZoneOffset.UTC),
+                        counts[i], mins[i], maxs[i], sums[i], lasts[i]));
+            }
+            return buckets;
+        }
+
+        /**
+         * Returns the index of the first bucket starting at or after {@code time}.
+         */
+        private int lowerBound(long time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.weatherAPI.weatherApplication.model.BikeTrend;
+import com.weatherAPI.weatherApplication.model.StationTrendSeries;
+import com.weatherAPI.weatherApplication.model.TrendBucket;
+import com.weatherAPI.weatherApplication.model.TrendStoreStats;
+
+/**
+ * Bounded in-memory store for {@link BikeTrend} history.
+ *
+ * <p>Trends are stored in columns: one record per station holds its name and coordinates once, plus
+ * growable {@code long[]} timestamps (epoch seconds) and {@code int[]} available bike counts, so a
+ * sample costs about twelve bytes instead of a {@link BikeTrend} object. A station that reports new
+ * coordinates is shown at its latest position for its whole history. Timestamps are kept to the
+ * second.</p>
+ *
+ * <p>Retention is enforced per time partition (one hour by default): a partition is dropped as a whole
+ * once it is older than the configured maximum age, or while the store holds more than the configured
+ * maximum number of entries. The partition currently being written to is never dropped, so the entry
+ * limit is enforced at partition granularity.</p>
+ *
+ * <p>The store is safe for concurrent use. Writers are serialized on the store's monitor and publish an
+ * immutable view after every batch; readers only read the latest published view and never block.
+ * Samples are appended past the end of what has been published and dropped samples are skipped rather
+ * than overwritten, so the columns are shared with readers without copying them.</p>
+ *
+ * <p>Components that keep their own copy of the history, such as the database writer, register a
+ * listener to receive every batch of newly stored trends.</p>
+ */
+@Component
+public class TrendStore {
+
+    static final Duration DEFAULT_PARTITION_SIZE = Duration.ofHours(1);
+    static final Duration DEFAULT_MAX_AGE = Duration.ofDays(7);
+    static final int DEFAULT_MAX_ENTRIES = 5_000_000;
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private final long partitionSeconds;
+    private final Duration maxAge;
+    private final int maxEntries;
+
+    /**
+     * Columns per station, in the order the stations were first seen.
+     */
+    private final Map<String, StationColumns> stations = new LinkedHashMap<>();
+
+    /**
+     * Number of stored samples per partition, keyed by partition index.
+     */
+    private final NavigableMap<Long, Integer> partitionSizes = new TreeMap<>();
+
+    private int size;
+    private long evictedEntries;
+    private long evictedPartitions;
+
+    private volatile View view;
+
+    private final List<Consumer<List<BikeTrend>>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a store with the default partition size and retention limits.
+     */
+    public TrendStore() {
+        this(DEFAULT_PARTITION_SIZE, DEFAULT_MAX_AGE, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a store with the given partition size and retention limits.
+     *
+     * @param partitionSize the time span covered by a single partition
+     * @param maxAge        how long trends are kept before their partition is dropped
+     * @param maxEntries    the number of entries above which the oldest partitions are dropped
+     */
+    @Autowired
+    public TrendStore(@Value("${bike.trends.partition-size:PT1H}") Duration partitionSize,
+                      @Value("${bike.trends.max-age:P7D}") Duration maxAge,
+                      @Value("${bike.trends.max-entries:5000000}") int maxEntries) {
+        if (partitionSize.getSeconds() <= 0) {
+            throw new IllegalArgumentException("Trend partition size must be at least one second.");
+        }
+        this.partitionSeconds = partitionSize.getSeconds();
+        this.maxAge = maxAge;
+        this.maxEntries = maxEntries;
+        this.view = new View(Map.of(), currentStats());
+    }
+
+    /**
+     * Adds a trend unless the same station already reported the same number of available bikes
+     * on the same day, then applies the retention limits.
+     *
+     * @param trend the {@link BikeTrend} to store
+     * @return true if the trend was stored, false if it was a duplicate
+     */
+    public boolean add(BikeTrend trend) {
+        return addAll(List.of(trend)) > 0;
+    }
+
+    /**
+     * Adds every trend that is not a duplicate, applies the retention limits and publishes the
+     * result to readers in one step.
+     *
+     * @param trends the {@link BikeTrend} objects to store
+     * @return the number of trends that were stored
+     */
+    public synchronized int addAll(Collection<BikeTrend> trends) {
+        List<BikeTrend> added = new ArrayList<>();
+        for (BikeTrend trend : trends) {
+            long time = trend.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+            int count = trend.getAvailableBikes() != null ? trend.getAvailableBikes() : 0;
+            StationColumns columns = stations.computeIfAbsent(trend.getStationName(), StationColumns::new);
+            if (columns.add(time, count, trend.getLatitude(), trend.getLongitude())) {
+                partitionSizes.merge(partitionOf(time), 1, Integer::sum);
+                size++;
+                added.add(trend);
+                evict(time);
+            }
+        }
+        if (!added.isEmpty()) {
+            publish();
+            List<BikeTrend> batch = Collections.unmodifiableList(added);
+            listeners.forEach(listener -> listener.accept(batch));
+        }
+        return added.size();
+    }
+
+    /**
+     * Registers a listener that receives every batch of trends stored by {@link #addAll(Collection)},
+     * after the batch has been published to readers. Listeners run on the writing thread while the
+     * store is locked, so they must return quickly and must not write to the store.
+     *
+     * @param listener receives the trends stored by a single call, in insertion order
+     */
+    public void addListener(Consumer<List<BikeTrend>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Retrieves all stored trends, oldest first. Never blocks, even while trends are being added.
+     *
+     * @return a list of {@link BikeTrend} objects
+     */
+    public List<BikeTrend> getTrends() {
+        View current = view;
+        List<BikeTrend> trends = new ArrayList<>(current.stats().entries());
+        for (Series series : current.series().values()) {
+            for (int i = series.from(); i < series.to(); i++) {
+                trends.add(new BikeTrend(series.stationName(), series.counts()[i],
+                        LocalDateTime.ofEpochSecond(series.times()[i], 0, ZoneOffset.UTC),
+                        series.latitude(), series.longitude()));
+            }
+        }
+        // Each station is already in order, so the sort only merges the per-station runs
+        trends.sort(Comparator.comparing(BikeTrend::getTimestamp));
+        return trends;
+    }
+
+    /**
+     * Downsamples the stored trends into fixed-size time buckets with the minimum, maximum and average
+     * number of available bikes per bucket. Buckets are aligned to multiples of the bucket size since
+     * the epoch and only buckets containing samples are returned. The samples in range are located by
+     * binary search on each station's timestamps, so only they are read.
+     *
+     * @param stationName the station to query, or null for every station
+     * @param from        the start of the range, inclusive, or null for the oldest sample
+     * @param to          the end of the range, inclusive, or null for the newest sample
+     * @param bucket      the bucket size, at least one second
+     * @return one series per matching station with samples in range, in the order stations were first seen
+     */
+    public List<StationTrendSeries> query(String stationName, LocalDateTime from, LocalDateTime to, Duration bucket) {
+        long bucketSeconds = bucket.getSeconds();
+        if (bucketSeconds <= 0) {
+            throw new IllegalArgumentException("Bucket size must be at least one second.");
+        }
+        long fromSecond = from != null ? from.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+        long toSecond = to != null ? to.toEpochSecond(ZoneOffset.UTC) : Long.MAX_VALUE;
+        if (fromSecond > toSecond) {
+            throw new IllegalArgumentException("The start of the range cannot be after its end.");
+        }
+
+        Map<String, Series> series = view.series();
+        Collection<Series> selected;
+        if (stationName == null) {
+            selected = series.values();
+        } else {
+            Series station = series.get(stationName);
+            selected = station != null ? List.of(station) : List.of();
+        }
+
+        List<StationTrendSeries> result = new ArrayList<>();
+        for (Series station : selected) {
+            List<TrendBucket> buckets = station.downsample(fromSecond, toSecond, bucketSeconds);
+            if (!buckets.isEmpty()) {
+                result.add(new StationTrendSeries(station.stationName(), station.latitude(), station.longitude(), buckets));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the current size of the store and how much has been evicted so far.
+     *
+     * @return a {@link TrendStoreStats} snapshot
+     */
+    public TrendStoreStats getStats() {
+        return view.stats();
+    }
+
+    /**
+     * Publishes the current columns and counters as a new immutable {@link View}.
+     */
+    private void publish() {
+        Map<String, Series> series = new LinkedHashMap<>();
+        for (StationColumns columns : stations.values()) {
+            Series published = columns.publish();
+            series.put(published.stationName(), published);
+        }
+        view = new View(Collections.unmodifiableMap(series), currentStats());
+    }
+
+    private TrendStoreStats currentStats() {
+        long columnBytes = 0;
+        for (StationColumns columns : stations.values()) {
+            columnBytes += columns.columnBytes();
+        }
+        return new TrendStoreStats(size, stations.size(), partitionSizes.size(), maxEntries, maxAge,
+                evictedEntries, evictedPartitions, columnBytes);
+    }
+
+    /**
+     * Drops every partition that ended before {@code now - maxAge}, then drops the oldest remaining
+     * partitions while the store is above its entry limit.
+     *
+     * @param now the time the retention window is measured from, in epoch seconds
+     */
+    private void evict(long now) {
+        long oldestRetained = partitionOf(now - maxAge.getSeconds());
+        while (!partitionSizes.isEmpty() && partitionSizes.firstKey() < oldestRetained) {
+            dropOldestPartition();
+        }
+        while (size > maxEntries && partitionSizes.size() > 1) {
+            dropOldestPartition();
+        }
+    }
+
+    private void dropOldestPartition() {
+        Map.Entry<Long, Integer> oldest = partitionSizes.pollFirstEntry();
+        long end = (oldest.getKey() + 1) * partitionSeconds;
+        Iterator<StationColumns> iterator = stations.values().iterator();
+        while (iterator.hasNext()) {
+            StationColumns columns = iterator.next();
+            columns.dropBefore(end);
+            if (columns.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        size -= oldest.getValue();
+        evictedEntries += oldest.getValue();
+        evictedPartitions++;
+    }
+
+    private long partitionOf(long epochSecond) {
+        return Math.floorDiv(epochSecond, partitionSeconds);
+    }
+
+    /**
+     * Mutable columns of a single station, owned by the writer.
+     *
+     * <p>Samples are kept sorted by time in {@code [start, end)}. Readers may hold a published
+     * {@link Series} over any earlier range of the same arrays, so a slot that has been published is
+     * never written again: appends go past {@code end}, dropped samples only move {@code start}, and an
+     * out-of-order insert copies the arrays.</p>
+     */
+    private static final class StationColumns {
+
+        private static final int INITIAL_CAPACITY = 8;
+
+        private final String stationName;
+        private double latitude;
+        private double longitude;
+        private long[] times = new long[INITIAL_CAPACITY];
+        private int[] counts = new int[INITIAL_CAPACITY];
+        private int start;
+        private int end;
+        private Series published;
+
+        StationColumns(String stationName) {
+            this.stationName = stationName;
+        }
+
+        /**
+         * Adds a sample unless the station already reported the same count on the same day.
+         */
+        boolean add(long time, int count, double latitude, double longitude) {
+            if (isDuplicate(time, count)) {
+                return false;
+            }
+            this.latitude = latitude;
+            this.longitude = longitude;
+            if (end == start || times[end - 1] <= time) {
+                if (end == times.length) {
+                    resize(end - start + 1);
+                }
+                times[end] = time;
+                counts[end] = count;
+                end++;
+            } else {
+                insert(lowerBound(time + 1), time, count);
+            }
+            published = null;
+            return true;
+        }
+
+        private boolean isDuplicate(long time, int count) {
+            long day = Math.floorDiv(time, SECONDS_PER_DAY);
+            // Most polls repeat the latest count, so check the latest sample before searching the day
+            if (end > start && counts[end - 1] == count && Math.floorDiv(times[end - 1], SECONDS_PER_DAY) == day) {
+                return true;
+            }
+            int to = lowerBound((day + 1) * SECONDS_PER_DAY);
+            for (int i = lowerBound(day * SECONDS_PER_DAY); i < to; i++) {
+                if (counts[i] == count) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns the index of the first sample at or after {@code time}.
+         */
+        private int lowerBound(long time) {
+            return binarySearch(times, start, end, time);
+        }
+
+        private void resize(int required) {
+            int capacity = Math.max(INITIAL_CAPACITY, required + (required >> 1));
+            times = Arrays.copyOfRange(times, start, start + capacity);
+            counts = Arrays.copyOfRange(counts, start, start + capacity);
+            end -= start;
+            start = 0;
+        }
+
+        private void insert(int index, long time, int count) {
+            int length = end - start;
+            int capacity = Math.max(INITIAL_CAPACITY, length + 1 + ((length + 1) >> 1));
+            long[] newTimes = new long[capacity];
+            int[] newCounts = new int[capacity];
+            int before = index - start;
+            System.arraycopy(times, start, newTimes, 0, before);
+            System.arraycopy(counts, start, newCounts, 0, before);
+            newTimes[before] = time;
+            newCounts[before] = count;
+            System.arraycopy(times, index, newTimes, before + 1, end - index);
+            System.arraycopy(counts, index, newCounts, before + 1, end - index);
+            times = newTimes;
+            counts = newCounts;
+            start = 0;
+            end = length + 1;
+        }
+
+        void dropBefore(long time) {
+            int newStart = lowerBound(time);
+            if (newStart != start) {
+                start = newStart;
+                published = null;
+            }
+        }
+
+        boolean isEmpty() {
+            return start == end;
+        }
+
+        long columnBytes() {
+            return (long) times.length * Long.BYTES + (long) counts.length * Integer.BYTES;
+        }
+
+        Series publish() {
+            if (published == null) {
+                published = new Series(stationName, latitude, longitude, times, counts, start, end);
+            }
+            return published;
+        }
+    }
+
+    /**
+     * Immutable range {@code [from, to)} of a station's columns, as published to readers.
+     */
+    private record Series(String stationName, double latitude, double longitude,
+                          long[] times, int[] counts, int from, int to) {
+
+        /**
+         * Aggregates the samples within {@code [fromSecond, toSecond]} into epoch-aligned buckets.
+         */
+        List<TrendBucket> downsample(long fromSecond, long toSecond, long bucketSeconds) {
+            List<TrendBucket> buckets = new ArrayList<>();
+            int i = lowerBound(fromSecond);
+            int end = toSecond == Long.MAX_VALUE ? to : lowerBound(toSecond + 1);
+            while (i < end) {
+                long bucketStart = Math.floorDiv(times[i], bucketSeconds) * bucketSeconds;
+                long bucketEnd = bucketStart + bucketSeconds;
+                int min = counts[i];
+                int max = counts[i];
+                long sum = 0;
+                int samples = 0;
+                for (; i < end && times[i] < bucketEnd; i++) {
+                    min = Math.min(min, counts[i]);
+                    max = Math.max(max, counts[i]);
+                    sum += counts[i];
+                    samples++;
+                }
+                buckets.add(new TrendBucket(LocalDateTime.ofEpochSecond(bucketStart, 0, ZoneOffset.UTC),
+                        samples, min, max, (double) sum / samples));
+            }
+            return buckets;
+        }
+
+        /**
+         * Returns the index of the first sample at or after {@code time}.
+         */
+        private int lowerBound(long time) {
+            return binarySearch(times, from, to, time);
+        }
+    }
+
+    /**
+     * Immutable state published to readers, with the series keyed by station name.
+     */
+    private record View(Map<String, Series> series, TrendStoreStats stats) {
+    }
+
+    /**
+     * Returns the index of the first element of the sorted range {@code [from, to)} that is at or after
+     * {@code time}, or {@code to} if there is none.
+     */
+    private static int binarySearch(long[] times, int from, int to, long time) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,124 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import com.weatherAPI.weatherApplication.model.WeatherData;
+import com.weatherAPI.weatherApplication.model.WeatherDistrict;
+
+/**
+ * Keeps the {@link WeatherDistricts} of the current weather snapshot, building them from the district
+ * coordinates of the weather feed.
+ *
+ * <p>{@link WeatherService#getWeatherData()} serves a cached snapshot, so the districts are rebuilt only
+ * when it returns a different snapshot than the one they were built from. If the weather feed cannot be
+ * fetched, the districts of the last snapshot are kept; before any snapshot was loaded, and whenever the
+ * feed locates no district, the built-in South Tyrol districts are used instead. After a failed fetch
+ * the feed is not asked again until the retry delay has passed, so reads do not each wait for an
+ * upstream that is down.</p>
+ */
+@Component
+public class WeatherDistrictRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherDistrictRegistry.class);
+
+    /**
+     * Coordinates of the South Tyrol weather districts, used when the feed provides none.
+     */
+    static final WeatherDistricts DEFAULT_DISTRICTS = WeatherDistricts.of(List.of(
+            new WeatherDistrict("Bolzano, Überetsch and Unterland", 46.498, 11.354),
+            new WeatherDistrict("Burggrafenamt - Meran and surroundings", 46.67, 11.162),
+            new WeatherDistrict("Vinschgau", 46.69, 10.55),
+            new WeatherDistrict("Eisacktal and Sarntal", 46.6, 11.5),
+            new WeatherDistrict("Wipptal - Sterzing and surroundings", 46.85, 11.4),
+            new WeatherDistrict("Pustertal", 46.7, 11.9),
+            new WeatherDistrict("Ladinia - Dolomites", 46.5, 11.4)));
+
+    static final Duration DEFAULT_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final WeatherService weatherService;
+    private final Duration retryDelay;
+    private final Clock clock;
+
+    private volatile Loaded loaded;
+    private volatile Instant retryAt = Instant.MIN;
+
+    /**
+     * Constructor to inject the {@link WeatherService} dependency, with the default retry delay.
+     *
+     * @param weatherService the service providing weather snapshots
+     */
+    public WeatherDistrictRegistry(WeatherService weatherService) {
+        this(weatherService, DEFAULT_RETRY_DELAY);
+    }
+
+    /**
+     * Constructor to inject the {@link WeatherService} dependency and the retry delay.
+     *
+     * @param weatherService the service providing weather snapshots
+     * @param retryDelay     how long the districts at hand are served after a failed fetch
+     */
+    @Autowired
+    public WeatherDistrictRegistry(WeatherService weatherService,
+                                   @Value("${weather.districts.retry-delay:PT1M}") Duration retryDelay) {
+        this(weatherService, retryDelay, Clock.systemUTC());
+    }
+
+    WeatherDistrictRegistry(WeatherService weatherService, Duration retryDelay, Clock clock) {
+        this.weatherService = weatherService;
+        this.retryDelay = retryDelay;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the districts of the current weather snapshot.
+     *
+     * @return the districts, never empty
+     */
+    public WeatherDistricts getDistricts() {
+        Loaded current = loaded;
+        if (clock.instant().isBefore(retryAt)) {
+            return current != null ? current.districts() : DEFAULT_DISTRICTS;
+        }
+        WeatherData[] weatherData;
+        try {
+            weatherData = weatherService.getWeatherData();
+        } catch (RestClientException e) {
+            retryAt = clock.instant().plus(retryDelay);
+            if (current == null) {
+                log.warn("Failed to fetch the weather feed, using the built-in districts: {}", e.getMessage());
+                return DEFAULT_DISTRICTS;
+            }
+            log.warn("Failed to fetch the weather feed, keeping the previous districts: {}", e.getMessage());
+            return current.districts();
+        }
+        if (current == null || current.source() != weatherData) {
+            WeatherDistricts districts = WeatherDistricts.of(weatherData != null ? weatherData : new WeatherData[0]);
+            current = new Loaded(weatherData, districts.size() > 0 ? districts : DEFAULT_DISTRICTS);
+            loaded = current;
+        }
+        return current.districts();
+    }
+
+    /**
+     * Returns the districts last built, without fetching the weather feed.
+     *
+     * @return the districts of the last snapshot, or the built-in districts if none was loaded yet
+     */
+    public WeatherDistricts getLoadedDistricts() {
+        Loaded current = loaded;
+        return current != null ? current.districts() : DEFAULT_DISTRICTS;
+    }
+
+    private record Loaded(WeatherData[] source, WeatherDistricts districts) {
+    }
+}
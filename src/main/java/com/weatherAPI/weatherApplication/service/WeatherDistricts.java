@@ -0,0 +1,162 @@
+package com.weatherAPI.weatherApplication.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.weatherAPI.weatherApplication.model.WeatherData;
+import com.weatherAPI.weatherApplication.model.WeatherData.Forecast;
+import com.weatherAPI.weatherApplication.model.WeatherDistrict;
+
+/**
+ * Immutable set of the weather districts of one weather snapshot, indexed for lookup by name.
+ *
+ * <p>A district is located at the coordinates of its first forecast that has both; districts without
+ * coordinates are left out. Besides its exact name, a district can be found by case-insensitive alias:
+ * the whole name and each part of it separated by a comma, a slash, a dash or "and"/"und", such as
+ * "pustertal" or "meran" for "Burggrafenamt - Meran and surroundings". An alias shared by several
+ * districts finds none of them.</p>
+ *
+ * <p>The first forecast of each district, the one for the current day, is kept alongside.</p>
+ */
+public final class WeatherDistricts {
+
+    private static final Pattern NAME_PARTS = Pattern.compile("\\s*(?:,|/|\\s-\\s|\\sand\\s|\\sund\\s)\\s*");
+
+    private final List<WeatherDistrict> districts;
+    private final Map<String, WeatherDistrict> byName;
+    private final Map<String, WeatherDistrict> byAlias;
+    private final Map<String, Forecast> currentForecasts;
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    private WeatherDistricts(List<WeatherDistrict> districts, Map<String, Forecast> currentForecasts) {
+        this.districts = List.copyOf(districts);
+        this.currentForecasts = Map.copyOf(currentForecasts);
+        this.latitudes = new double[districts.size()];
+        this.longitudes = new double[districts.size()];
+
+        Map<String, WeatherDistrict> names = new HashMap<>();
+        Map<String, WeatherDistrict> aliases = new HashMap<>();
+        Set<String> ambiguous = new HashSet<>();
+        for (int i = 0; i < districts.size(); i++) {
+            WeatherDistrict district = districts.get(i);
+            latitudes[i] = district.latitude();
+            longitudes[i] = district.longitude();
+            names.putIfAbsent(district.districtName(), district);
+            for (String alias : aliases(district.districtName())) {
+                WeatherDistrict previous = aliases.putIfAbsent(alias, district);
+                if (previous != null && previous != district) {
+                    ambiguous.add(alias);
+                }
+            }
+        }
+        aliases.keySet().removeAll(ambiguous);
+        this.byName = Map.copyOf(names);
+        this.byAlias = Map.copyOf(aliases);
+    }
+
+    /**
+     * Builds the districts of a weather feed response.
+     *
+     * @param weatherData the districts returned by the weather API
+     * @return the districts with coordinates, in feed order
+     */
+    public static WeatherDistricts of(WeatherData[] weatherData) {
+        List<WeatherDistrict> districts = new ArrayList<>(weatherData.length);
+        Map<String, Forecast> currentForecasts = new HashMap<>();
+        for (WeatherData district : weatherData) {
+            if (district.getDistrictName() == null || district.getForecast() == null) {
+                continue;
+            }
+            for (Forecast forecast : district.getForecast()) {
+                if (forecast.getLatitude() != null && forecast.getLongitude() != null) {
+                    districts.add(new WeatherDistrict(district.getDistrictName(), forecast.getLatitude(), forecast.getLongitude()));
+                    currentForecasts.putIfAbsent(district.getDistrictName(), district.getForecast().get(0));
+                    break;
+                }
+            }
+        }
+        return new WeatherDistricts(districts, currentForecasts);
+    }
+
+    /**
+     * Creates the districts from a list of already located districts, without forecasts.
+     */
+    public static WeatherDistricts of(List<WeatherDistrict> districts) {
+        return new WeatherDistricts(districts, Map.of());
+    }
+
+    /**
+     * Returns every district, in feed order.
+     */
+    public List<WeatherDistrict> getDistricts() {
+        return districts;
+    }
+
+    /**
+     * Finds a district by its exact name or, failing that, by case-insensitive alias.
+     *
+     * @param name the district name or alias
+     * @return the district, or empty if no district or more than one matches
+     */
+    public Optional<WeatherDistrict> find(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        WeatherDistrict district = byName.get(name);
+        if (district == null) {
+            district = byAlias.get(normalize(name));
+        }
+        return Optional.ofNullable(district);
+    }
+
+    /**
+     * Returns the forecast for the current day of a district.
+     *
+     * @param district a district of this set
+     * @return the forecast, or empty if the district has none
+     */
+    public Optional<Forecast> getCurrentForecast(WeatherDistrict district) {
+        return Optional.ofNullable(currentForecasts.get(district.districtName()));
+    }
+
+    public int size() {
+        return districts.size();
+    }
+
+    /**
+     * Returns the latitude of every district, in list order. The array is shared and must not be modified.
+     */
+    double[] getLatitudes() {
+        return latitudes;
+    }
+
+    /**
+     * Returns the longitude of every district, in list order. The array is shared and must not be modified.
+     */
+    double[] getLongitudes() {
+        return longitudes;
+    }
+
+    private static Set<String> aliases(String districtName) {
+        Set<String> aliases = new HashSet<>();
+        aliases.add(normalize(districtName));
+        for (String part : NAME_PARTS.split(districtName)) {
+            if (!part.isBlank()) {
+                aliases.add(normalize(part));
+            }
+        }
+        return aliases;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,8 @@
 package com.weatherAPI.weatherApplication.service;
 
+import com.weatherAPI.weatherApplication.model.DistrictForecast;
+import com.weatherAPI.weatherApplication.model.DistrictForecastResponse;
+
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -28,15 +31,14 @@ public class WeatherForecastService {
      * Retrieves weather forecast data for all predefined stations for a specific day.
      *
      * @param day the date for which the weather forecast is requested (in YYYY-MM-DD format).
-     * @return a list of maps containing filtered weather data for each station.
+     * @return a list of {@link DistrictForecast} records containing filtered weather data for each station.
      */
-    public List<Map<String, Object>> getWeatherForecastForAllStations(String day) {
+    public List<DistrictForecast> getWeatherForecastForAllStations(String day) {
         List<String> stations = List.of("Bolzano", "Meran", "Vinschgau", "Eisacktal", "Pustertal", "Wipptal");
 
         return stations.stream()
-                .map(station -> fetchWeatherForStation(station, day))
+                .map(station -> filterRelevantWeatherData(fetchWeatherForStation(station, day), station, day))
                 .filter(Objects::nonNull)
-                .map(this::filterRelevantWeatherData)
                 .collect(Collectors.toList());
     }
 
@@ -45,51 +47,42 @@ public class WeatherForecastService {
      *
      * @param stationName the name of the weather station.
      * @param day         the date for which the forecast is requested (in YYYY-MM-DD format).
-     * @return a map containing the weather forecast for the specified station and day, or null if no data is found.
+     * @return the forecast for the specified station and day, or null if no data is found.
      */
-    private Map<String, Object> fetchWeatherForStation(String stationName, String day) {
+    private DistrictForecastResponse.Day fetchWeatherForStation(String stationName, String day) {
         String url = "https://tourism.api.opendatahub.com/v1/Weather/District?districtName" + stationName;
-        List<Map<String, Object>> weatherDataList = restTemplate.getForObject(url, List.class);
+        DistrictForecastResponse[] weatherDataList = restTemplate.getForObject(url, DistrictForecastResponse[].class);
 
-        if (weatherDataList == null || weatherDataList.isEmpty()) {
+        if (weatherDataList == null || weatherDataList.length == 0 || weatherDataList[0].forecasts() == null) {
             return null;
         }
 
-        Map<String, Object> weatherData = weatherDataList.get(0);
-        List<Map<String, Object>> forecasts = (List<Map<String, Object>>) weatherData.get("BezirksForecast");
-
-        Map<String, Object> selectedForecast = forecasts.stream()
-                .filter(forecast -> forecast.get("date").equals(day))
+        return weatherDataList[0].forecasts().stream()
+                .filter(forecast -> forecast != null && day.equals(forecast.date()))
                 .findFirst()
                 .orElse(null);
-
-        if (selectedForecast != null) {
-            selectedForecast.put("stationName", stationName);
-            selectedForecast.put("requestedDay", day);
-        }
-
-        return selectedForecast;
     }
 
     /**
-     * Filters and extracts relevant weather information from the raw forecast data.
+     * Filters and extracts relevant weather information from the forecast of a station.
      *
-     * @param forecastData the raw forecast data.
-     * @return a map containing only the relevant weather details.
+     * @param forecast    the forecast of the station for the requested day, or null.
+     * @param stationName the name of the weather station.
+     * @param day         the requested day.
+     * @return a {@link DistrictForecast} containing only the relevant weather details, or null.
      */
-    private Map<String, Object> filterRelevantWeatherData(Map<String, Object> forecastData) {
-        if (forecastData != null) {
-            Map<String, Object> filteredData = new HashMap<>();
-            filteredData.put("WeatherDesc", forecastData.get("WeatherDesc"));
-            filteredData.put("MaxTemp", forecastData.get("MaxTemp"));
-            filteredData.put("MinTemp", forecastData.get("MinTemp"));
-            filteredData.put("Freeze", forecastData.get("Freeze"));
-            filteredData.put("RainFrom", forecastData.get("RainFrom"));
-            filteredData.put("RainTo", forecastData.get("RainTo"));
-            filteredData.put("Thunderstorm", forecastData.get("Thunderstorm"));
-            filteredData.put("stationName", forecastData.get("stationName"));
-            filteredData.put("requestedDay", forecastData.get("requestedDay"));
-            return filteredData;
+    private DistrictForecast filterRelevantWeatherData(DistrictForecastResponse.Day forecast, String stationName, String day) {
+        if (forecast != null) {
+            return new DistrictForecast(
+                    forecast.weatherDescription(),
+                    forecast.maxTemp(),
+                    forecast.minTemp(),
+                    forecast.freeze(),
+                    forecast.rainFrom(),
+                    forecast.rainTo(),
+                    forecast.thunderstorm(),
+                    stationName,
+                    day);
         }
         return null;
     }
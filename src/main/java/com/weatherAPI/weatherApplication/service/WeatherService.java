@@ -2,89 +2,162 @@ package com.weatherAPI.weatherApplication.service;
 
 import com.weatherAPI.weatherApplication.model.WeatherData;
 import com.weatherAPI.weatherApplication.model.WeatherData.Forecast;
+import com.weatherAPI.weatherApplication.model.WeatherRecommendation;
+import com.weatherAPI.weatherApplication.model.WeatherTrend;
 import com.weatherAPI.weatherApplication.model.UserPreferences;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.weatherAPI.weatherApplication.model.CacheStats;
+
+import java.time.Duration;
 import java.util.*;
-import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
  * Service class for processing and analyzing weather data from an external API.
  * It provides functionality for retrieving weather data, calculating trends, 
  * generating recommendations, and filtering trends based on user preferences.
+ *
+ * <p>The district weather is held in a {@link SnapshotCache}: concurrent callers share one upstream
+ * call, and an expired snapshot is revalidated with the ETag and Last-Modified validators of the
+ * previous response, so an unchanged feed costs a 304 without a body. The trends of all districts are
+ * computed once per new snapshot and kept alongside it.</p>
  */
 @Service
 public class WeatherService {
 
+    static final String API_URL = "https://tourism.api.opendatahub.com/v1/Weather/District";
+    static final Duration DEFAULT_SNAPSHOT_TTL = Duration.ofMinutes(10);
+
     private final RestTemplate restTemplate;
-    private static final String API_URL = "https://tourism.api.opendatahub.com/v1/Weather/District";
+    private final SnapshotCache<Snapshot> snapshots;
+
+    private volatile Validators validators;
 
     /**
-     * Constructor for injecting the RestTemplate dependency.
+     * Constructor for injecting the RestTemplate dependency, with the default snapshot cache settings.
      *
      * @param restTemplate the RestTemplate used for making HTTP requests.
      */
     public WeatherService(RestTemplate restTemplate) {
+        this(restTemplate, DEFAULT_SNAPSHOT_TTL, true);
+    }
+
+    /**
+     * Constructor for injecting the RestTemplate dependency and the snapshot cache settings.
+     *
+     * @param restTemplate         the RestTemplate used for making HTTP requests.
+     * @param snapshotTtl          how long fetched weather data is served before it is revalidated.
+     * @param staleWhileRevalidate whether expired weather data is served while it is revalidated in the background.
+     */
+    @Autowired
+    public WeatherService(RestTemplate restTemplate,
+                          @Value("${weather.snapshot.ttl:PT10M}") Duration snapshotTtl,
+                          @Value("${weather.snapshot.stale-while-revalidate:true}") boolean staleWhileRevalidate) {
         this.restTemplate = restTemplate;
+        this.snapshots = new SnapshotCache<>("weather-snapshot", this::fetchWeatherData, snapshotTtl, staleWhileRevalidate);
     }
 
     /**
-     * Fetches weather data for all districts from the external API.
+     * Retrieves the weather data for all districts from the current snapshot, fetching or revalidating
+     * it first once it has expired. The array is shared and must not be modified.
      *
      * @return an array of WeatherData objects containing the weather data for all districts.
      */
     public WeatherData[] getWeatherData() {
-        return restTemplate.getForObject(API_URL, WeatherData[].class);
+        return snapshots.get().weatherData();
     }
 
     /**
-     * Calculates and retrieves weather trends for all districts.
+     * Retrieves the hit, miss and load counters of the weather snapshot cache.
      *
-     * @return a list of maps containing average temperature trends for each district.
+     * @return a {@link CacheStats} snapshot
      */
-    public List<Map<String, Object>> getWeatherTrends() {
-        return Arrays.stream(getWeatherData())
-            .map(this::calculateTrend)
-            .collect(Collectors.toList());
+    public CacheStats getSnapshotCacheStats() {
+        return snapshots.getStats();
     }
+
     /**
-     * Calculates weather trends for a specific district.
+     * Fetches the weather data of all districts and computes their trends. If a previous response
+     * carried an ETag or a Last-Modified date, the request is conditional and a 304 answer keeps the
+     * previous snapshot, trends included.
      *
-     * @param district the WeatherData for a district.
-     * @return a map containing the average temperature trends for the district.
+     * @return the new snapshot, or the previous one if the data has not been modified
      */
-    
-    private Map<String, Object> calculateTrend(WeatherData district) {
-        Map<String, Object> trend = new HashMap<>();
-        trend.put("DistrictName", district.getDistrictName());
+    private Snapshot fetchWeatherData() {
+        Snapshot previous = snapshots.peek();
+        Validators current = validators;
+        HttpHeaders headers = new HttpHeaders();
+        if (previous != null && current != null) {
+            if (current.etag() != null) {
+                headers.setIfNoneMatch(current.etag());
+            }
+            if (current.lastModified() >= 0) {
+                headers.setIfModifiedSince(current.lastModified());
+            }
+        }
 
-        trend.put("AverageMaxTemp", calculateAverage(district.getForecast(), Forecast::getMaxTemp));
-        trend.put("AverageMinTemp", calculateAverage(district.getForecast(), Forecast::getMinTemp));
+        ResponseEntity<WeatherData[]> response = restTemplate.exchange(API_URL, HttpMethod.GET, new HttpEntity<>(headers),
+                WeatherData[].class);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && previous != null) {
+            return previous;
+        }
+        validators = new Validators(response.getHeaders().getETag(), response.getHeaders().getLastModified());
+        return Snapshot.of(response.getBody() != null ? response.getBody() : new WeatherData[0]);
+    }
 
-        return trend;
+    /**
+     * Retrieves the weather trends of all districts, computed once per weather snapshot.
+     *
+     * @return an immutable list of {@link WeatherTrend} records, one for each district.
+     */
+    public List<WeatherTrend> getWeatherTrends() {
+        return snapshots.get().trends();
     }
 
     /**
-     * Calculates the average temperature for a list of forecasts based on the provided mapper function.
+     * Calculates the forecast temperature aggregates of a district in one pass over its forecasts.
      *
-     * @param forecasts the list of Forecast objects.
-     * @param mapper    a function to map a Forecast object to a temperature value.
-     * @return the average temperature as a double.
+     * @param district the WeatherData for a district.
+     * @return the temperature trends for the district.
      */
-    private double calculateAverage(List<Forecast> forecasts, ToIntFunction<Forecast> mapper) {
-        return forecasts.stream().mapToInt(mapper).average().orElse(0.0);
+    private static WeatherTrend calculateTrend(WeatherData district) {
+        List<Forecast> forecasts = district.getForecast() != null ? district.getForecast() : List.of();
+        if (forecasts.isEmpty()) {
+            return new WeatherTrend(district.getDistrictName(), 0.0, 0.0, 0, 0, 0);
+        }
+        long maxTempSum = 0;
+        long minTempSum = 0;
+        int highestMaxTemp = Integer.MIN_VALUE;
+        int lowestMinTemp = Integer.MAX_VALUE;
+        for (Forecast forecast : forecasts) {
+            maxTempSum += forecast.getMaxTemp();
+            minTempSum += forecast.getMinTemp();
+            highestMaxTemp = Math.max(highestMaxTemp, forecast.getMaxTemp());
+            lowestMinTemp = Math.min(lowestMinTemp, forecast.getMinTemp());
+        }
+        return new WeatherTrend(district.getDistrictName(),
+                (double) maxTempSum / forecasts.size(),
+                (double) minTempSum / forecasts.size(),
+                highestMaxTemp, lowestMinTemp, forecasts.size());
     }
 
     /**
      * Generates weather recommendations for all districts based on user preferences.
      *
      * @param preferences the user's weather preferences.
-     * @return a list of maps containing recommendations for each district.
+     * @return a list of {@link WeatherRecommendation} records, one for each district with a matching forecast.
      */
-    public List<Map<String, Object>> getRecommendations(UserPreferences preferences) {
+    public List<WeatherRecommendation> getRecommendations(UserPreferences preferences) {
         validatePreferences(preferences);
 
         return Arrays.stream(getWeatherData())
@@ -93,7 +166,7 @@ public class WeatherService {
             .collect(Collectors.toList());
     }
 
-    private Map<String, Object> getRecommendationForDistrict(WeatherData district, UserPreferences preferences) {
+    private WeatherRecommendation getRecommendationForDistrict(WeatherData district, UserPreferences preferences) {
         for (int i = 0; i < district.getForecast().size(); i++) {
             Forecast forecast = district.getForecast().get(i);
 
@@ -113,7 +186,7 @@ public class WeatherService {
      * 
      * @param district    the weather data of the district, including its forecast.
      * @param preferences the user's weather preferences, such as temperature range and preferred weather conditions.
-     * @return a map containing the recommendation details if a matching forecast is found, or null otherwise.
+     * @return the recommendation if a matching forecast is found, or null otherwise.
      */
     private boolean matchesPreferences(Forecast forecast, UserPreferences preferences) {
         String weatherDescription = preferences.getPreferredWeather();
@@ -128,29 +201,30 @@ public class WeatherService {
      * @param districtName the name of the district.
      * @param forecast     the forecast data.
      * @param dayIndex     the index of the day in the forecast list (0 for current day).
-     * @return a map containing the recommendation details.
+     * @return the recommendation details.
      */
-    private Map<String, Object> createRecommendation(String districtName, Forecast forecast, int dayIndex) {
-        Map<String, Object> recommendation = new HashMap<>();
-        recommendation.put("DistrictName", districtName);
-        recommendation.put("WeatherDesc", forecast.getWeatherDescription());
-        recommendation.put("TemperatureRange", forecast.getMinTemp() + " to " + forecast.getMaxTemp());
-        recommendation.put("Day", dayIndex == 0 ? "current" : String.valueOf(dayIndex));
-        return recommendation;
+    private WeatherRecommendation createRecommendation(String districtName, Forecast forecast, int dayIndex) {
+        return new WeatherRecommendation(districtName, forecast.getWeatherDescription(),
+                forecast.getMinTemp() + " to " + forecast.getMaxTemp(),
+                dayIndex == 0 ? "current" : String.valueOf(dayIndex));
     }
 
     /**
      * Filters weather trends based on user preferences.
      *
      * @param preferences the user's weather preferences.
-     * @return a list of maps containing trends that match the user's preferences.
+     * @return a list of {@link WeatherTrend} records that match the user's preferences.
      */
-    public List<Map<String, Object>> filterWeatherTrends(UserPreferences preferences) {
+    public List<WeatherTrend> filterWeatherTrends(UserPreferences preferences) {
         validatePreferences(preferences);
 
-        return getWeatherTrends().stream()
-            .filter(trend -> matchesTrendPreferences(trend, preferences))
-            .collect(Collectors.toList());
+        List<WeatherTrend> matching = new ArrayList<>();
+        for (WeatherTrend trend : getWeatherTrends()) {
+            if (matchesTrendPreferences(trend, preferences)) {
+                matching.add(trend);
+            }
+        }
+        return matching;
     }
 
     /**
@@ -160,11 +234,9 @@ public class WeatherService {
      * @param preferences  the user's weather preferences.
      * @return true if the trend matches the preferences, false otherwise.
      */
-    private boolean matchesTrendPreferences(Map<String, Object> trend, UserPreferences preferences) {
-        double avgMinTemp = (double) trend.get("AverageMinTemp");
-        double avgMaxTemp = (double) trend.get("AverageMaxTemp");
-        return avgMinTemp >= preferences.getMinTemperature() &&
-               avgMaxTemp <= preferences.getMaxTemperature();
+    private boolean matchesTrendPreferences(WeatherTrend trend, UserPreferences preferences) {
+        return trend.averageMinTemp() >= preferences.getMinTemperature() &&
+               trend.averageMaxTemp() <= preferences.getMaxTemperature();
     }
 
     /**
@@ -178,4 +250,30 @@ public class WeatherService {
             throw new IllegalArgumentException("Minimum temperature cannot be greater than maximum temperature.");
         }
     }
+
+    /**
+     * Cache validators of the last full response.
+     *
+     * @param etag         the ETag, or null if the response had none
+     * @param lastModified the Last-Modified date in milliseconds since the epoch, or -1 if the response had none
+     */
+    private record Validators(String etag, long lastModified) {
+    }
+
+    /**
+     * The weather data of all districts together with the trends computed from it.
+     *
+     * @param weatherData the districts returned by the weather API
+     * @param trends      the trend of every district, in the same order
+     */
+    private record Snapshot(WeatherData[] weatherData, List<WeatherTrend> trends) {
+
+        static Snapshot of(WeatherData[] weatherData) {
+            WeatherTrend[] trends = new WeatherTrend[weatherData.length];
+            for (int i = 0; i < weatherData.length; i++) {
+                trends[i] = calculateTrend(weatherData[i]);
+            }
+            return new Snapshot(weatherData, List.of(trends));
+        }
+    }
 }
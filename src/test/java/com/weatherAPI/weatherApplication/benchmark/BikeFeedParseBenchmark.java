@@ -0,0 +1,102 @@
+package com.weatherAPI.weatherApplication.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weatherAPI.weatherApplication.model.BikeApiResponse;
+import com.weatherAPI.weatherApplication.service.BikeFeedParser;
+
+/**
+ * Compares the streaming {@link BikeFeedParser} with Jackson data binding of {@link BikeApiResponse},
+ * configured like Spring's default converter, on a synthetic Bicycle feed shaped like the flat
+ * OpenDataHub response.
+ *
+ * <p>{@link #main(String[])} runs with the GC profiler, which reports bytes allocated per operation
+ * ({@code gc.alloc.rate.norm}) next to the parse time.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BikeFeedParseBenchmark {
+
+    @Param({"1000", "20000"})
+    public int stations;
+
+    private byte[] payload;
+
+    private final BikeFeedParser streamingParser = new BikeFeedParser();
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Setup
+    public void setUp() {
+        payload = feed(stations).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public BikeApiResponse databind() throws IOException {
+        return objectMapper.readValue(payload, BikeApiResponse.class);
+    }
+
+    @Benchmark
+    public BikeApiResponse streaming() throws IOException {
+        return streamingParser.parse(payload);
+    }
+
+    /**
+     * Builds a feed where each station carries the measurement, station and metadata fields of the
+     * real flat response, most of which the application does not use.
+     */
+    static String feed(int stations) {
+        StringBuilder json = new StringBuilder(stations * 900).append("{\"offset\":0,\"limit\":").append(stations).append(",\"data\":[");
+        for (int i = 0; i < stations; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"_timestamp\":\"2025-01-06 08:00:00.000+0000\",\"mperiod\":300,")
+                    .append("\"mvalidtime\":\"2025-01-06 08:00:00.000+0000\",\"mvalue\":").append(i % 12).append(',')
+                    .append("\"pactive\":true,\"pavailable\":true,\"pcode\":\"BZ-").append(i).append("\",")
+                    .append("\"pcoordinate\":{\"x\":").append(11.3 + i * 1e-4).append(",\"y\":").append(46.4 + i * 1e-4).append(",\"srid\":4326},")
+                    .append("\"pmetadata\":{\"bikes\":{\"number-available\":").append(i % 12)
+                    .append(",\"bicycle\":").append(i % 7).append(",\"e-bike\":").append(i % 5).append("},")
+                    .append("\"municipality\":\"").append(i % 2 == 0 ? "Bolzano - Bozen" : "Merano - Meran").append("\",")
+                    .append("\"totalBays\":20,\"free-bays\":").append(20 - i % 12).append(',')
+                    .append("\"address\":{\"street\":\"Via Roma ").append(i).append("\",\"zip\":\"39100\"},\"network\":\"bz-bike\"},")
+                    .append("\"pname\":\"Station ").append(i).append("\",\"porigin\":\"ALPERIA\",\"ptype\":\"BikesharingStation\",")
+                    .append("\"sactive\":true,\"savailable\":true,\"scode\":\"BZ-").append(i).append("-1\",")
+                    .append("\"scoordinate\":{\"x\":11.3,\"y\":46.4,\"srid\":4326},")
+                    .append("\"smetadata\":{\"type\":\"e-bike\",\"battery\":{\"level\":80,\"history\":[80,81,82]}},")
+                    .append("\"sname\":\"Bike ").append(i).append("\",\"sorigin\":\"ALPERIA\",\"stype\":\"Bicycle\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BikeFeedParseBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
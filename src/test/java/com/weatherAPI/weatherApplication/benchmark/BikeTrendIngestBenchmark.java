@@ -0,0 +1,121 @@
+package com.weatherAPI.weatherApplication.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.client.RestTemplate;
+
+import com.weatherAPI.weatherApplication.model.BikeApiResponse;
+import com.weatherAPI.weatherApplication.model.BikeData;
+import com.weatherAPI.weatherApplication.service.BikeService;
+import com.weatherAPI.weatherApplication.service.BikeSnapshot;
+
+/**
+ * Measures the cost of ingesting one poll of the Bicycle feed into {@link BikeService} as the
+ * amount of previously saved trend history grows.
+ *
+ * <p>Each {@code history} value is seeded by ingesting polls with changing availability counts, so
+ * every seeded poll adds one trend per station. The measured poll repeats the same counts, which is
+ * the common steady state: every station is checked for duplicates and none are added. Since the
+ * duplicate check only looks at the station's own samples, the score should stay flat across all
+ * {@code history} values.</p>
+ *
+ * <p>Run {@link #main(String[])} from the test classpath.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BikeTrendIngestBenchmark {
+
+    private static final int STATIONS = 200;
+
+    @Param({"0", "10000", "100000"})
+    public int history;
+
+    private BikeService bikeService;
+
+    @Setup
+    public void setUp() {
+        StubRestTemplate restTemplate = new StubRestTemplate();
+        bikeService = new BikeService(restTemplate);
+
+        int rounds = history / STATIONS;
+        for (int round = 0; round < rounds; round++) {
+            restTemplate.response = poll(round);
+            bikeService.refresh();
+        }
+        restTemplate.response = poll(rounds);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bikeService.close();
+    }
+
+    @Benchmark
+    public BikeSnapshot ingestPoll() {
+        return bikeService.refresh();
+    }
+
+    private static BikeApiResponse poll(int availableBikes) {
+        List<BikeData> stations = new ArrayList<>(STATIONS);
+        for (int i = 0; i < STATIONS; i++) {
+            BikeData bikeData = new BikeData();
+            bikeData.setStationName("Station " + i);
+
+            BikeData.Coordinate coordinate = new BikeData.Coordinate();
+            coordinate.setLatitude(46.0 + i * 0.001);
+            coordinate.setLongitude(11.0 + i * 0.001);
+            bikeData.setCoordinate(coordinate);
+
+            BikeData.Metadata metadata = new BikeData.Metadata();
+            metadata.setBikes(Map.of("number-available", availableBikes));
+            bikeData.setMetadata(metadata);
+
+            stations.add(bikeData);
+        }
+
+        BikeApiResponse response = new BikeApiResponse();
+        response.setData(stations);
+        return response;
+    }
+
+    /**
+     * Serves a fixed response instead of calling the upstream API.
+     */
+    private static final class StubRestTemplate extends RestTemplate {
+
+        private BikeApiResponse response;
+
+        @Override
+        public <T> T getForObject(String url, Class<T> responseType, Object... uriVariables) {
+            return responseType.cast(response);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BikeTrendIngestBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
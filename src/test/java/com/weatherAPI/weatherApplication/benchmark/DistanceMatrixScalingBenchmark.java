@@ -0,0 +1,90 @@
+package com.weatherAPI.weatherApplication.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.weatherAPI.weatherApplication.service.StationDistanceMatrix;
+
+/**
+ * Measures how building a {@link StationDistanceMatrix} scales with the number of worker threads, on
+ * synthetic networks spread over South Tyrol with the seven weather districts and 100 neighbors per
+ * station, as the recommendation service builds it.
+ *
+ * <p>Each operation is one full build, so the mode is single-shot. The work grows with the square of
+ * the stations; the retained result is {@code stations * (8 * neighbors + 4 * districts)} bytes plus
+ * one {@code float} row per worker thread while building. Parallelism values above the machine's
+ * cores only add scheduling overhead; pass {@code -p parallelism=1,2,...,N} to match the host.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DistanceMatrixScalingBenchmark {
+
+    private static final int NEIGHBORS = 100;
+
+    private static final double[] DISTRICT_LATITUDES = {46.498, 46.67, 46.69, 46.8, 46.7, 46.9, 46.55};
+    private static final double[] DISTRICT_LONGITUDES = {11.354, 11.162, 10.55, 11.9, 11.6, 11.45, 11.85};
+
+    @Param({"1000", "10000", "50000"})
+    public int stations;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"0", "0.01"})
+    public double maxErrorKm;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        latitudes = new double[stations];
+        longitudes = new double[stations];
+        for (int i = 0; i < stations; i++) {
+            latitudes[i] = 46.2 + random.nextDouble() * 0.8;
+            longitudes[i] = 10.4 + random.nextDouble() * 1.8;
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public StationDistanceMatrix build() {
+        return StationDistanceMatrix.build(latitudes, longitudes, DISTRICT_LATITUDES, DISTRICT_LONGITUDES,
+                maxErrorKm, NEIGHBORS, pool);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DistanceMatrixScalingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
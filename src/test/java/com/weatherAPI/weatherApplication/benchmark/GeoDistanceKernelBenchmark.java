@@ -0,0 +1,134 @@
+package com.weatherAPI.weatherApplication.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.weatherAPI.weatherApplication.service.GeoDistanceKernel;
+
+/**
+ * Compares one origin against every station computed pair by pair, the way distances were computed
+ * before, with {@link GeoDistanceKernel} in exact and approximating mode. The stations are spread
+ * over South Tyrol, so nearly every pair is short enough for the approximation.
+ *
+ * <p>{@link #setUp()} measures the largest error of both kernels against the pairwise formula over
+ * all origins, prints it and fails the run if the approximation exceeds {@link #maxErrorKm}.
+ * {@link #main(String[])} runs with the GC profiler, which should report no allocation for the
+ * kernels.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoDistanceKernelBenchmark {
+
+    @Param({"1000", "20000"})
+    public int stations;
+
+    @Param({"0.01"})
+    public double maxErrorKm;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private float[] out;
+    private int origin;
+
+    private GeoDistanceKernel exact;
+    private GeoDistanceKernel approximate;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        latitudes = new double[stations];
+        longitudes = new double[stations];
+        for (int i = 0; i < stations; i++) {
+            latitudes[i] = 46.2 + random.nextDouble() * 0.8;
+            longitudes[i] = 10.4 + random.nextDouble() * 1.8;
+        }
+        out = new float[stations];
+        exact = GeoDistanceKernel.of(latitudes, longitudes);
+        approximate = GeoDistanceKernel.of(latitudes, longitudes, maxErrorKm);
+
+        double exactError = 0;
+        double approximateError = 0;
+        for (int i = 0; i < stations; i += Math.max(1, stations / 200)) {
+            exact.distancesFrom(exact, i, 0, stations, out, 0);
+            exactError = Math.max(exactError, maxError(i));
+            approximate.distancesFrom(approximate, i, 0, stations, out, 0);
+            approximateError = Math.max(approximateError, maxError(i));
+        }
+        System.out.printf("%nmax error vs pairwise haversine: exact %.6f km, approximate %.6f km%n",
+                exactError, approximateError);
+        // float output rounds to about 4 m at 100 km, on top of the approximation
+        if (approximateError > maxErrorKm + 0.005) {
+            throw new IllegalStateException("approximation error " + approximateError + " km exceeds " + maxErrorKm);
+        }
+    }
+
+    @Benchmark
+    public float[] pairwise() {
+        origin = (origin + 1) % stations;
+        for (int j = 0; j < stations; j++) {
+            out[j] = (float) haversine(latitudes[origin], longitudes[origin], latitudes[j], longitudes[j]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public float[] kernelExact() {
+        origin = (origin + 1) % stations;
+        exact.distancesFrom(exact, origin, 0, stations, out, 0);
+        return out;
+    }
+
+    @Benchmark
+    public float[] kernelApproximate() {
+        origin = (origin + 1) % stations;
+        approximate.distancesFrom(approximate, origin, 0, stations, out, 0);
+        return out;
+    }
+
+    private double maxError(int from) {
+        double error = 0;
+        for (int j = 0; j < stations; j++) {
+            error = Math.max(error, Math.abs(out[j] - haversine(latitudes[from], longitudes[from], latitudes[j], longitudes[j])));
+        }
+        return error;
+    }
+
+    /**
+     * The pairwise formula that {@code RecommendationService.calculateDistance} used.
+     */
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return 6371 * c;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GeoDistanceKernelBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.weatherAPI.weatherApplication.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weatherAPI.weatherApplication.model.BikeStationNeighbor;
+import com.weatherAPI.weatherApplication.model.BikeStationRecommendation;
+import com.weatherAPI.weatherApplication.model.WeatherStationDistance;
+
+/**
+ * Compares building and serializing a page of recommendation entries as {@link BikeStationRecommendation}
+ * records with the {@code Map<String, Object>} entries they replaced. Both produce the same JSON.
+ *
+ * <p>{@link #main(String[])} runs with the GC profiler, which reports bytes allocated per operation
+ * ({@code gc.alloc.rate.norm}) next to the time per page.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecommendationResultBenchmark {
+
+    private static final String[] DISTRICTS = {"Bozen", "Meran", "Vinschgau", "Pustertal", "Eisacktal",
+            "Wipptal", "Ladinien"};
+
+    @Param({"50", "500"})
+    public int stations;
+
+    @Param({"5"})
+    public int neighbors;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Map<String, Object>> bikeStations;
+
+    @Setup
+    public void setUp() {
+        bikeStations = new ArrayList<>(stations);
+        for (int i = 0; i < stations; i++) {
+            Map<String, Object> station = new LinkedHashMap<>();
+            station.put("stationId", i);
+            station.put("stationName", "Station " + i);
+            station.put("availableBikes", i % 12);
+            station.put("latitude", 46.4 + i * 1e-4);
+            station.put("longitude", 11.3 + i * 1e-4);
+            bikeStations.add(station);
+        }
+    }
+
+    @Benchmark
+    public byte[] maps() throws IOException {
+        List<Map<String, Object>> page = new ArrayList<>(stations);
+        for (int i = 0; i < stations; i++) {
+            Map<String, Object> entry = new LinkedHashMap<>(bikeStations.get(i));
+            List<Map<String, Object>> toWeatherStations = new ArrayList<>(DISTRICTS.length);
+            for (int j = 0; j < DISTRICTS.length; j++) {
+                toWeatherStations.add(Map.of("DistrictName", DISTRICTS[j], "distance", (double) Math.round(distance(i, j))));
+            }
+            List<Map<String, Object>> toBikeStations = new ArrayList<>(neighbors);
+            for (int j = 1; j <= neighbors; j++) {
+                toBikeStations.add(Map.of("stationName", bikeStations.get((i + j) % stations).get("stationName"),
+                        "distance", (double) Math.round(distance(i, j))));
+            }
+            entry.put("distancesToWeatherStations", toWeatherStations);
+            entry.put("distancesToBikeStations", toBikeStations);
+            page.add(entry);
+        }
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] records() throws IOException {
+        List<BikeStationRecommendation> page = new ArrayList<>(stations);
+        for (int i = 0; i < stations; i++) {
+            Map<String, Object> station = bikeStations.get(i);
+            List<WeatherStationDistance> toWeatherStations = new ArrayList<>(DISTRICTS.length);
+            for (int j = 0; j < DISTRICTS.length; j++) {
+                toWeatherStations.add(new WeatherStationDistance(DISTRICTS[j], Math.round(distance(i, j))));
+            }
+            List<BikeStationNeighbor> toBikeStations = new ArrayList<>(neighbors);
+            for (int j = 1; j <= neighbors; j++) {
+                toBikeStations.add(new BikeStationNeighbor((String) bikeStations.get((i + j) % stations).get("stationName"),
+                        Math.round(distance(i, j))));
+            }
+            page.add(new BikeStationRecommendation(i, (String) station.get("stationName"),
+                    ((Number) station.get("availableBikes")).intValue(),
+                    ((Number) station.get("latitude")).doubleValue(),
+                    ((Number) station.get("longitude")).doubleValue(),
+                    toWeatherStations, toBikeStations));
+        }
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private static float distance(int i, int j) {
+        return (i * 31 + j * 17) % 90 + 0.4f;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecommendationResultBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.weatherAPI.weatherApplication.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.weatherAPI.weatherApplication.model.BikeTrend;
+import com.weatherAPI.weatherApplication.service.TrendStore;
+
+/**
+ * Measures the retained heap per stored sample of {@link TrendStore}, next to the same samples kept as
+ * a list of {@link BikeTrend} objects.
+ *
+ * <p>Every station reports a new count every minute for {@code days} days, which is the worst case
+ * for the store since no sample is skipped as a duplicate. Heap usage is read after forcing garbage
+ * collection, so run {@link #main(String[])} from the test classpath with a fixed heap, for example
+ * {@code -Xms2g -Xmx2g}. Arguments: number of stations (default 300) and days (default 7).</p>
+ */
+public class TrendStoreFootprint {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+    public static void main(String[] args) {
+        int stations = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 7;
+        int minutes = days * 24 * 60;
+        long samples = (long) stations * minutes;
+
+        long baseline = usedHeap();
+        TrendStore store = new TrendStore(Duration.ofHours(1), Duration.ofDays(days + 1), Integer.MAX_VALUE);
+        List<String> names = stationNames(stations);
+        for (int minute = 0; minute < minutes; minute++) {
+            List<BikeTrend> poll = new ArrayList<>(stations);
+            for (int station = 0; station < stations; station++) {
+                poll.add(trend(names.get(station), minute, station));
+            }
+            store.addAll(poll);
+        }
+        long storeBytes = usedHeap() - baseline;
+        report("TrendStore", storeBytes, samples);
+        System.out.printf("  column bytes per sample: %.1f%n", (double) store.getStats().columnBytes() / samples);
+        store = null;
+
+        baseline = usedHeap();
+        List<BikeTrend> objects = new ArrayList<>();
+        for (int minute = 0; minute < minutes; minute++) {
+            for (int station = 0; station < stations; station++) {
+                objects.add(trend(names.get(station), minute, station));
+            }
+        }
+        long objectBytes = usedHeap() - baseline;
+        report("List<BikeTrend>", objectBytes, objects.size());
+    }
+
+    private static List<String> stationNames(int stations) {
+        List<String> names = new ArrayList<>(stations);
+        for (int station = 0; station < stations; station++) {
+            names.add("Station " + station);
+        }
+        return names;
+    }
+
+    private static BikeTrend trend(String stationName, int minute, int station) {
+        return new BikeTrend(stationName, (minute + station) % 1000,
+                START.plusMinutes(minute), 46.4 + station * 1e-4, 11.3 + station * 1e-4);
+    }
+
+    private static void report(String name, long bytes, long samples) {
+        System.out.printf("%s: %d samples, %.1f MB, %.1f bytes per sample%n",
+                name, samples, bytes / 1_048_576.0, (double) bytes / samples);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
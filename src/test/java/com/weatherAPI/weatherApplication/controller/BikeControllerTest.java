@@ -1,19 +1,34 @@
 package com.weatherAPI.weatherApplication.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.weatherAPI.weatherApplication.model.BikeData;
 import com.weatherAPI.weatherApplication.model.BikeTrend;
+import com.weatherAPI.weatherApplication.model.BikeTypeDetails;
 import com.weatherAPI.weatherApplication.service.BikeService;
+import com.weatherAPI.weatherApplication.service.BikeTypeProjection;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class BikeControllerTest {
 
@@ -114,16 +129,46 @@ class BikeControllerTest {
 
     @Test
     void getBikeTypeDetails_noMetadata() {
-        BikeData mockBikeData = new BikeData();
-        mockBikeData.setStationName("Station Type");
-
-        when(bikeService.getBikeData()).thenReturn(List.of(mockBikeData));
+        when(bikeService.getBikeTypeDetails()).thenReturn(BikeTypeProjection.build(List.of()));
 
         var response = bikeController.getBikeTypeDetails();
 
         assertEquals(0, response.size());
     }
 
+    @Test
+    void getBikeTypeDetails_writesTheJsonKeptByTheProjection() throws Exception {
+        BikeData bikeData = new BikeData();
+        bikeData.setStationName("Station A");
+        BikeData.Metadata metadata = new BikeData.Metadata();
+        metadata.setBikes(Map.of("e-bike", 2));
+        bikeData.setMetadata(metadata);
+        AtomicInteger serializedDetails = new AtomicInteger();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new SimpleModule().addSerializer(BikeTypeDetails.class,
+                new StdSerializer<BikeTypeDetails>(BikeTypeDetails.class) {
+                    @Override
+                    public void serialize(BikeTypeDetails value, JsonGenerator generator, SerializerProvider provider)
+                            throws IOException {
+                        serializedDetails.incrementAndGet();
+                        generator.writeStartObject();
+                        generator.writeStringField("stationName", value.getStationName());
+                        generator.writeEndObject();
+                    }
+                }));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(bikeController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+
+        when(bikeService.getBikeTypeDetails()).thenReturn(BikeTypeProjection.build(List.of(bikeData)));
+
+        for (int request = 0; request < 2; request++) {
+            mockMvc.perform(get("/api/bikes/types"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string("[{\"stationName\":\"Station A\"}]"));
+        }
+        assertEquals(1, serializedDetails.get());
+    }
+
     @Test
     void getBikeData_mixedResponse() {
         BikeData validBikeData = new BikeData();
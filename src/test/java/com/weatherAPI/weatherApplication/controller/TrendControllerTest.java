@@ -0,0 +1,59 @@
+package com.weatherAPI.weatherApplication.controller;
+
+import com.weatherAPI.weatherApplication.service.BikeService;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TrendControllerTest {
+
+    @Mock
+    private BikeService bikeService;
+
+    @InjectMocks
+    private TrendController trendController;
+
+    public TrendControllerTest() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void queryTrends_rejectsBucketsShorterThanOneSecond() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> trendController.queryTrends(null, null, null, Duration.ofMillis(500)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(bikeService);
+    }
+
+    @Test
+    void queryTrends_rejectsRangesStartingAfterTheirEnd() {
+        LocalDateTime to = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> trendController.queryTrends("Station A", to.plusHours(1), to, Duration.ofHours(1)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(bikeService);
+    }
+
+    @Test
+    void getRollups_rejectsRangesStartingAfterTheirEnd() {
+        LocalDateTime to = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> trendController.getRollups(null, "day", to.plusDays(1), to));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(bikeService);
+    }
+}
@@ -2,6 +2,8 @@ package com.weatherAPI.weatherApplication.controller;
 
 import com.weatherAPI.weatherApplication.model.UserPreferences;
 import com.weatherAPI.weatherApplication.model.WeatherData;
+import com.weatherAPI.weatherApplication.model.WeatherRecommendation;
+import com.weatherAPI.weatherApplication.model.WeatherTrend;
 import com.weatherAPI.weatherApplication.service.WeatherService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -44,17 +46,17 @@ class WeatherControllerTest {
 
     @Test
     void getWeatherTrends_success() {
-        List<Map<String, Object>> mockTrends = List.of(
-            Map.of("trend", "Rising temperatures", "district", "Test District")
+        List<WeatherTrend> mockTrends = List.of(
+            new WeatherTrend("Test District", 26.5, 16.5, 28, 15, 2)
         );
 
         when(weatherService.getWeatherTrends()).thenReturn(mockTrends);
 
-        List<Map<String, Object>> response = weatherController.getWeatherTrends();
+        List<WeatherTrend> response = weatherController.getWeatherTrends();
 
         assertEquals(1, response.size());
-        assertEquals("Rising temperatures", response.get(0).get("trend"));
-        assertEquals("Test District", response.get(0).get("district"));
+        assertEquals("Test District", response.get(0).districtName());
+        assertEquals(26.5, response.get(0).averageMaxTemp());
     }
 
     @Test
@@ -64,17 +66,17 @@ class WeatherControllerTest {
         mockPreferences.setMinTemperature(10);
         mockPreferences.setMaxTemperature(30);
 
-        List<Map<String, Object>> mockRecommendations = List.of(
-            Map.of("district", "Test District", "recommendation", "Sunny and warm")
+        List<WeatherRecommendation> mockRecommendations = List.of(
+            new WeatherRecommendation("Test District", "Sunny", "15 to 25", "0")
         );
 
         when(weatherService.getRecommendations(mockPreferences)).thenReturn(mockRecommendations);
 
-        List<Map<String, Object>> response = weatherController.getRecommendations(mockPreferences);
+        List<WeatherRecommendation> response = weatherController.getRecommendations(mockPreferences);
 
         assertEquals(1, response.size());
-        assertEquals("Test District", response.get(0).get("district"));
-        assertEquals("Sunny and warm", response.get(0).get("recommendation"));
+        assertEquals("Test District", response.get(0).districtName());
+        assertEquals("Sunny", response.get(0).weatherDescription());
     }
 
     @Test
@@ -0,0 +1,89 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class BikeAvailabilityStreamTest {
+
+    private final BikeAvailabilityStream stream =
+            new BikeAvailabilityStream(new ObjectMapper(), 2, Duration.ofMinutes(30), Runnable::run);
+
+    @Test
+    void recordChanges_includesOnlyStationsWhoseAvailabilityChanged() {
+        stream.recordChanges(List.of(station("Station A", 3), station("Station B", 5)));
+
+        BikeAvailabilityStream.Event event = stream.recordChanges(List.of(station("Station A", 3), station("Station B", 4)));
+
+        assertEquals(BikeAvailabilityStream.CHANGES_EVENT, event.name());
+        assertEquals("[{\"stationId\":1,\"stationName\":\"Station B\",\"availableBikes\":4,\"latitude\":46.5,\"longitude\":11.35}]", event.data());
+        assertNull(stream.recordChanges(List.of(station("Station A", 3), station("Station B", 4))));
+    }
+
+    @Test
+    void recordChanges_removesStationsThatLeftTheFeed() {
+        stream.recordChanges(List.of(station("Station A", 3), station("Station B", 5)));
+
+        BikeAvailabilityStream.Event event = stream.recordChanges(List.of(station("Station A", 3)));
+
+        assertEquals("[{\"stationId\":1,\"stationName\":\"Station B\",\"availableBikes\":0,\"latitude\":46.5,\"longitude\":11.35,\"removed\":true}]", event.data());
+        List<BikeAvailabilityStream.Event> snapshot = stream.catchUp(null);
+        assertFalse(snapshot.get(0).data().contains("Station B"));
+        assertNull(stream.recordChanges(List.of(station("Station A", 3))));
+    }
+
+    @Test
+    void recordChanges_identifiesMovedStationsById() {
+        stream.recordChanges(List.of(station("Station A", 3), station("Station B", 5)));
+
+        BikeAvailabilityStream.Event event = stream.recordChanges(List.of(
+                Map.of("stationId", 2, "stationName", "Station A", "availableBikes", 3, "latitude", 46.6, "longitude", 11.4),
+                station("Station B", 5)));
+
+        assertEquals("[{\"stationId\":2,\"stationName\":\"Station A\",\"availableBikes\":3,\"latitude\":46.6,\"longitude\":11.4},"
+                + "{\"stationId\":0,\"stationName\":\"Station A\",\"availableBikes\":0,\"latitude\":46.5,\"longitude\":11.35,\"removed\":true}]",
+                event.data());
+    }
+
+    @Test
+    void catchUp_replaysEventsAfterLastEventId() {
+        BikeAvailabilityStream.Event first = stream.recordChanges(List.of(station("Station A", 1)));
+        BikeAvailabilityStream.Event second = stream.recordChanges(List.of(station("Station A", 2)));
+        BikeAvailabilityStream.Event third = stream.recordChanges(List.of(station("Station A", 3)));
+
+        assertEquals(List.of(third), stream.catchUp(second.id()));
+        assertEquals(List.of(second, third), stream.catchUp(first.id()));
+        assertTrue(stream.catchUp(third.id()).isEmpty());
+    }
+
+    @Test
+    void catchUp_sendsSnapshotWhenMissedEventsAreNotKept() {
+        BikeAvailabilityStream.Event first = stream.recordChanges(List.of(station("Station A", 1), station("Station B", 1)));
+        stream.recordChanges(List.of(station("Station A", 2), station("Station B", 1)));
+        stream.recordChanges(List.of(station("Station A", 3), station("Station B", 1)));
+        BikeAvailabilityStream.Event last = stream.recordChanges(List.of(station("Station A", 4), station("Station B", 1)));
+
+        for (String lastEventId : new String[] {first.id(), null, "earlier-run:3"}) {
+            List<BikeAvailabilityStream.Event> events = stream.catchUp(lastEventId);
+            assertEquals(1, events.size());
+            assertEquals(BikeAvailabilityStream.SNAPSHOT_EVENT, events.get(0).name());
+            assertEquals(last.id(), events.get(0).id());
+            assertTrue(events.get(0).data().contains("\"stationName\":\"Station B\""));
+        }
+    }
+
+    private static final Map<String, Integer> STATION_IDS = Map.of("Station A", 0, "Station B", 1);
+
+    private static Map<String, Object> station(String stationName, int availableBikes) {
+        return Map.of("stationId", STATION_IDS.get(stationName), "stationName", stationName, "availableBikes", availableBikes, "latitude", 46.5, "longitude", 11.35);
+    }
+}
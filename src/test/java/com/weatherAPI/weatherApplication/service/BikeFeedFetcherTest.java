@@ -0,0 +1,154 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.weatherAPI.weatherApplication.config.AppConfig;
+import com.weatherAPI.weatherApplication.model.BikeData;
+
+class BikeFeedFetcherTest {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private HttpServer server;
+    private String url;
+    private volatile int stations;
+    private final Map<Integer, AtomicInteger> failuresByOffset = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<BikeFeedFetcher> fetchers = new ArrayList<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v2/flat/Bicycle", this::handle);
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/v2/flat/Bicycle";
+    }
+
+    @AfterEach
+    void stopServer() {
+        fetchers.forEach(BikeFeedFetcher::close);
+        server.stop(0);
+    }
+
+    @Test
+    void fetchAll_requestsAllPagesAndMergesInOrder() {
+        stations = 450;
+
+        List<BikeData> data = fetcher(3).fetchAll();
+
+        assertEquals(stationNames(450), data.stream().map(BikeData::getStationName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void fetchAll_singleRequestWhenFirstPageIsNotFull() {
+        stations = 42;
+
+        List<BikeData> data = fetcher(4).fetchAll();
+
+        assertEquals(42, data.size());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void fetchAll_exactMultipleOfPageSizeEndsOnEmptyPage() {
+        stations = 300;
+
+        List<BikeData> data = fetcher(1).fetchAll();
+
+        assertEquals(stationNames(300), data.stream().map(BikeData::getStationName).collect(Collectors.toList()));
+        assertEquals(4, requests.get());
+    }
+
+    @Test
+    void fetchAll_retriesFailedPage() {
+        stations = 450;
+        failuresByOffset.put(200, new AtomicInteger(1));
+
+        List<BikeData> data = fetcher(3).fetchAll();
+
+        assertEquals(stationNames(450), data.stream().map(BikeData::getStationName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void fetchAll_failsAfterClose() {
+        stations = 450;
+        BikeFeedFetcher fetcher = fetcher(3);
+        fetcher.close();
+
+        assertThrows(RestClientException.class, fetcher::fetchAll);
+    }
+
+    @Test
+    void fetchAll_failsWhenPageKeepsFailing() {
+        stations = 450;
+        failuresByOffset.put(300, new AtomicInteger(Integer.MAX_VALUE));
+
+        assertThrows(RestClientException.class, () -> fetcher(3).fetchAll());
+    }
+
+    private BikeFeedFetcher fetcher(int parallelism) {
+        BikeFeedFetcher fetcher = new BikeFeedFetcher(new AppConfig().restTemplate(), url, parallelism, 1, 100);
+        fetchers.add(fetcher);
+        return fetcher;
+    }
+
+    private static List<String> stationNames(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "Station " + i).collect(Collectors.toList());
+    }
+
+    /**
+     * Serves {@code stations} stations, paged like the flat OpenDataHub API.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        Map<String, Integer> query = parseQuery(exchange.getRequestURI().getQuery());
+        int limit = query.getOrDefault("limit", DEFAULT_LIMIT);
+        int offset = query.getOrDefault("offset", 0);
+
+        AtomicInteger failures = failuresByOffset.get(offset);
+        if (failures != null && failures.getAndDecrement() > 0) {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+
+        String data = IntStream.range(offset, Math.min(offset + limit, stations))
+                .mapToObj(i -> "{\"pname\":\"Station " + i + "\",\"pmetadata\":{\"bikes\":{\"number-available\":" + i % 10 + "}}}")
+                .collect(Collectors.joining(","));
+        byte[] body = ("{\"offset\":" + offset + ",\"limit\":" + limit + ",\"data\":[" + data + "]}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, Integer> parseQuery(String query) {
+        if (query == null) {
+            return Map.of();
+        }
+        return List.of(query.split("&")).stream()
+                .map(parameter -> parameter.split("=", 2))
+                .collect(Collectors.toMap(parameter -> parameter[0], parameter -> Integer.parseInt(parameter[1])));
+    }
+}
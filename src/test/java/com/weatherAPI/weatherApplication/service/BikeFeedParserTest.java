@@ -0,0 +1,83 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.weatherAPI.weatherApplication.model.BikeApiResponse;
+import com.weatherAPI.weatherApplication.model.BikeData;
+
+class BikeFeedParserTest {
+
+    private final BikeFeedParser parser = new BikeFeedParser();
+
+    @Test
+    void parse_readsUsedFieldsAndSkipsTheRest() throws IOException {
+        String json = """
+                {
+                  "offset": 200,
+                  "limit": 200,
+                  "data": [
+                    {
+                      "pname": "Bolzano Station",
+                      "scode": "BZ-01",
+                      "pcoordinate": {"x": 11.35, "y": 46.49, "srid": 4326},
+                      "pmetadata": {
+                        "bikes": {"number-available": 4, "e-bike": 1, "bicycle": null},
+                        "municipality": "Bolzano",
+                        "address": {"street": "Via Roma", "lines": ["a", "b"]}
+                      },
+                      "smetadata": {"nested": [{"deep": {"deeper": true}}]},
+                      "mvalue": 4.0
+                    },
+                    {
+                      "pname": "Bolzano Station 2",
+                      "pcoordinate": null,
+                      "pmetadata": {"municipality": "Bolzano"}
+                    }
+                  ]
+                }
+                """;
+
+        BikeApiResponse response = parser.parse(json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(200, response.getOffset());
+        assertEquals(200, response.getLimit());
+        List<BikeData> stations = response.getData();
+        assertEquals(2, stations.size());
+
+        BikeData first = stations.get(0);
+        assertEquals("Bolzano Station", first.getStationName());
+        assertEquals(11.35, first.getCoordinate().getLongitude());
+        assertEquals(46.49, first.getCoordinate().getLatitude());
+        assertEquals(Map.of("number-available", 4, "e-bike", 1), first.getMetadata().getBikes());
+        assertEquals("Bolzano", first.getMetadata().getMunicipality());
+
+        BikeData second = stations.get(1);
+        assertEquals("Bolzano Station 2", second.getStationName());
+        assertNull(second.getCoordinate());
+        assertNull(second.getMetadata().getBikes());
+        assertSame(first.getMetadata().getMunicipality(), second.getMetadata().getMunicipality());
+    }
+
+    @Test
+    void parse_emptyData() throws IOException {
+        BikeApiResponse response = parser.parse("{\"offset\":0,\"data\":[]}".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(response.getData().isEmpty());
+    }
+
+    @Test
+    void parse_rejectsNonObjectPayload() {
+        assertThrows(IOException.class, () -> parser.parse("[]".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -3,34 +3,45 @@ package com.weatherAPI.weatherApplication.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Map;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.weatherAPI.weatherApplication.model.BikeApiResponse;
 import com.weatherAPI.weatherApplication.model.BikeData;
 import com.weatherAPI.weatherApplication.model.BikeTrend;
+import com.weatherAPI.weatherApplication.model.BikeTypeDetails;
 
 class BikeServiceTest {
 
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
-    private BikeService bikeService;
+    private final BikeService bikeService;
 
     public BikeServiceTest() {
         MockitoAnnotations.openMocks(this);
+        bikeService = new BikeService(restTemplate);
+    }
+
+    @AfterEach
+    void closeService() {
+        bikeService.close();
     }
 
     @Test
@@ -132,6 +143,73 @@ class BikeServiceTest {
         assertEquals(1, trends.size());  
     }
 
+    @Test
+    void getTrends_addsTrendWhenAvailabilityChanges() {
+        BikeData bikeData = new BikeData();
+        bikeData.setStationName("Test Station");
+        BikeData.Metadata metadata = new BikeData.Metadata();
+        metadata.setBikes(Map.of("number-available", 5));
+        bikeData.setMetadata(metadata);
+
+        BikeData changedBikeData = new BikeData();
+        changedBikeData.setStationName("Test Station");
+        BikeData.Metadata changedMetadata = new BikeData.Metadata();
+        changedMetadata.setBikes(Map.of("number-available", 500));
+        changedBikeData.setMetadata(changedMetadata);
+
+        BikeApiResponse firstResponse = new BikeApiResponse();
+        firstResponse.setData(List.of(bikeData));
+        BikeApiResponse secondResponse = new BikeApiResponse();
+        secondResponse.setData(List.of(changedBikeData, bikeData));
+
+        when(restTemplate.getForObject(anyString(), eq(BikeApiResponse.class)))
+            .thenReturn(firstResponse, secondResponse);
+
+        bikeService.refresh();
+        bikeService.refresh();
+
+        List<BikeTrend> trends = bikeService.getTrends();
+        assertEquals(2, trends.size());
+        assertEquals(5, trends.get(0).getAvailableBikes());
+        assertEquals(500, trends.get(1).getAvailableBikes());
+    }
+
+    @Test
+    void getBikeData_servesCurrentSnapshot() {
+        BikeApiResponse mockResponse = new BikeApiResponse();
+        BikeData mockBikeData = new BikeData();
+        mockBikeData.setStationName("Test Station");
+        mockResponse.setData(List.of(mockBikeData));
+
+        when(restTemplate.getForObject(anyString(), eq(BikeApiResponse.class))).thenReturn(mockResponse);
+
+        bikeService.getBikeData();
+        bikeService.getBikeData();
+        bikeService.getBikeStations();
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(BikeApiResponse.class));
+    }
+
+    @Test
+    void refresh_replacesSnapshot() {
+        BikeData firstStation = new BikeData();
+        firstStation.setStationName("First Station");
+        BikeApiResponse firstResponse = new BikeApiResponse();
+        firstResponse.setData(List.of(firstStation));
+
+        BikeData secondStation = new BikeData();
+        secondStation.setStationName("Second Station");
+        BikeApiResponse secondResponse = new BikeApiResponse();
+        secondResponse.setData(List.of(secondStation));
+
+        when(restTemplate.getForObject(anyString(), eq(BikeApiResponse.class)))
+            .thenReturn(firstResponse, secondResponse);
+
+        assertEquals("First Station", bikeService.getBikeData().get(0).getStationName());
+        bikeService.refresh();
+        assertEquals("Second Station", bikeService.getBikeData().get(0).getStationName());
+    }
+
     @Test
     void getBikeStations_success() {
         BikeApiResponse mockResponse = new BikeApiResponse();
@@ -156,6 +234,7 @@ class BikeServiceTest {
         List<Map<String, Object>> bikeStations = bikeService.getBikeStations();
 
         assertEquals(1, bikeStations.size());
+        assertEquals(0, bikeStations.get(0).get("stationId"));
         assertEquals("Test Station", bikeStations.get(0).get("stationName"));
         assertEquals(5, bikeStations.get(0).get("availableBikes"));
         assertEquals(20.0, bikeStations.get(0).get("latitude"));  
@@ -360,6 +439,31 @@ class BikeServiceTest {
         assertEquals(999.0, stations.get(0).get("longitude"));
     }
 
+    @Test
+    void getBikeTypeDetails_isSharedAndSerializedOncePerSnapshot() throws Exception {
+        BikeData withMetadata = new BikeData();
+        withMetadata.setStationName("Station A");
+        BikeData.Metadata metadata = new BikeData.Metadata();
+        metadata.setBikes(Map.of("city-bike", 3));
+        metadata.setMunicipality("Bolzano");
+        withMetadata.setMetadata(metadata);
+        BikeData withoutMetadata = new BikeData();
+        withoutMetadata.setStationName("Station B");
+        BikeApiResponse apiResponse = new BikeApiResponse();
+        apiResponse.setData(List.of(withMetadata, withoutMetadata));
+
+        when(restTemplate.getForObject(anyString(), eq(BikeApiResponse.class))).thenReturn(apiResponse);
+
+        List<BikeTypeDetails> details = bikeService.getBikeTypeDetails();
+        ObjectMapper objectMapper = new ObjectMapper();
+        String expected = "[{\"stationName\":\"Station A\",\"bikeTypes\":{\"city-bike\":3},\"municipality\":\"Bolzano\"}]";
+
+        assertEquals(1, details.size());
+        assertSame(details, bikeService.getBikeTypeDetails());
+        assertEquals(expected, objectMapper.writeValueAsString(details));
+        assertEquals(expected, objectMapper.writeValueAsString(details));
+    }
+
     @Test
     void testGetBikeData_whenApiReturnsEmptyStationList() {
         BikeApiResponse apiResponse = new BikeApiResponse();
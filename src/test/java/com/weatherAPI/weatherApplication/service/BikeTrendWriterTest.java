@@ -0,0 +1,137 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.weatherAPI.weatherApplication.model.BikeTrend;
+import com.weatherAPI.weatherApplication.model.BikeTrendEntity;
+import com.weatherAPI.weatherApplication.model.RollupBucket;
+import com.weatherAPI.weatherApplication.model.RollupResolution;
+import com.weatherAPI.weatherApplication.model.StationRollups;
+import com.weatherAPI.weatherApplication.repository.BikeTrendRepository;
+
+class BikeTrendWriterTest {
+
+    @Mock
+    private BikeTrendRepository repository;
+
+    private final TrendStore trendStore = new TrendStore();
+    private final TrendRollups trendRollups = new TrendRollups();
+
+    public BikeTrendWriterTest() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void restore_loadsPersistedTrendsWithoutWritingThemAgain() {
+        BikeTrendEntity persisted = new BikeTrendEntity(trend("Station A", 4));
+        stubPersistedHistory(List.of(persisted));
+        BikeTrendWriter writer = new BikeTrendWriter(repository, trendStore, trendRollups, 500, 100);
+
+        writer.restore();
+
+        assertEquals(1, trendStore.getTrends().size());
+        assertEquals("Station A", trendStore.getTrends().get(0).getStationName());
+        assertEquals(0, writer.flush());
+        verify(repository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void restore_rebuildsRollupsAfterRestart() {
+        LocalDateTime hour = LocalDateTime.now().minusHours(2).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime weeksAgo = hour.minusDays(30);
+        BikeTrendWriter beforeRestart = new BikeTrendWriter(repository, trendStore, trendRollups, 500, 100);
+        beforeRestart.restore();
+        trendStore.addAll(List.of(trend("Station A", 4, hour), trend("Station A", 2, hour.plusMinutes(20))));
+        beforeRestart.flush();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BikeTrendEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        List<BikeTrendEntity> persisted = new ArrayList<>(saved.getValue());
+        persisted.add(0, new BikeTrendEntity(trend("Station A", 7, weeksAgo)));
+
+        TrendStore restartedStore = new TrendStore();
+        TrendRollups restartedRollups = new TrendRollups();
+        stubPersistedHistory(persisted);
+        new BikeTrendWriter(repository, restartedStore, restartedRollups, 500, 100).restore();
+
+        assertEquals(2, restartedStore.getTrends().size());
+        List<StationRollups> hourly = restartedRollups.query("Station A", RollupResolution.HOUR, null, null);
+        assertEquals(List.of(
+                new RollupBucket(weeksAgo, 1, 7, 7, 7, 7),
+                new RollupBucket(hour, 2, 2, 4, 6, 2)), hourly.get(0).buckets());
+    }
+
+    @Test
+    void flush_savesStoredTrendsInBatches() {
+        BikeTrendWriter writer = new BikeTrendWriter(repository, trendStore, trendRollups, 2, 100);
+        writer.restore();
+
+        trendStore.addAll(List.of(trend("Station A", 1), trend("Station B", 2), trend("Station C", 3)));
+
+        assertEquals(3, writer.flush());
+        verify(repository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void enqueue_dropsTrendsWhenQueueIsFull() {
+        BikeTrendWriter writer = new BikeTrendWriter(repository, trendStore, trendRollups, 500, 2);
+
+        writer.enqueue(List.of(trend("Station A", 1), trend("Station B", 2), trend("Station C", 3)));
+
+        assertEquals(2, writer.flush());
+    }
+
+    @Test
+    void flush_retriesFailedBatch() {
+        BikeTrendWriter writer = new BikeTrendWriter(repository, trendStore, trendRollups, 500, 100);
+        when(repository.saveAll(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .thenReturn(List.of());
+
+        writer.enqueue(List.of(trend("Station A", 1)));
+
+        assertEquals(0, writer.flush());
+        assertEquals(1, writer.flush());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BikeTrendEntity>> batches = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(2)).saveAll(batches.capture());
+        BikeTrendEntity failed = batches.getAllValues().get(0).get(0);
+        BikeTrendEntity retried = batches.getAllValues().get(1).get(0);
+        assertNotSame(failed, retried);
+        assertNull(retried.getId());
+        assertEquals("Station A", retried.getStationName());
+    }
+
+    private void stubPersistedHistory(List<BikeTrendEntity> persisted) {
+        when(repository.findByIdGreaterThanAndTimestampGreaterThanEqualOrderByIdAsc(anyLong(), any(), any()))
+                .thenReturn(persisted);
+    }
+
+    private static BikeTrend trend(String stationName, int availableBikes) {
+        return trend(stationName, availableBikes, LocalDateTime.now());
+    }
+
+    private static BikeTrend trend(String stationName, int availableBikes, LocalDateTime timestamp) {
+        return new BikeTrend(stationName, availableBikes, timestamp, 46.5, 11.35);
+    }
+}
@@ -0,0 +1,61 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.weatherAPI.weatherApplication.model.BikeData;
+import com.weatherAPI.weatherApplication.model.BikeTypeDetails;
+
+class BikeTypeIndexTest {
+
+    private final BikeTypeIndex index = BikeTypeIndex.build(List.of(
+            bikeData("Station A", Map.of("city-bike", 2, "e-bike", 0)),
+            bikeData("Station B", Map.of("city-bike", 5, "e-bike", 1)),
+            bikeData("Station C", Map.of("city-bike", 2, "e-bike", 4)),
+            bikeData("Station B", Map.of("city-bike", 9))), new int[] {0, 1, 2, 1});
+
+    @Test
+    void getStations_returnsStationsWithBikesByDescendingCount() {
+        List<BikeTypeDetails> stations = index.getStations("city-bike", 1);
+
+        assertEquals(List.of("Station B", "Station A", "Station C"), names(stations));
+        assertEquals(Map.of("city-bike", 5), stations.get(0).getBikeTypes());
+        assertEquals(List.of("Station C", "Station B"), names(index.getStations("e-bike", 0)));
+        assertTrue(index.getStations("cargo-bike", 1).isEmpty());
+    }
+
+    @Test
+    void getStations_appliesMinimumCount() {
+        assertEquals(List.of("Station B", "Station A", "Station C"), names(index.getStations("city-bike", 2)));
+        assertEquals(List.of("Station B"), names(index.getStations("city-bike", 3)));
+        assertTrue(index.getStations("city-bike", 6).isEmpty());
+    }
+
+    @Test
+    void getStations_combinesSeveralTypesPerStation() {
+        List<BikeTypeDetails> stations = index.getStations(List.of("city-bike", "e-bike"), 2);
+
+        assertEquals(List.of("Station C", "Station B", "Station A"), names(stations));
+        assertEquals(Map.of("city-bike", 2, "e-bike", 4), stations.get(0).getBikeTypes());
+        assertEquals(Map.of("city-bike", 5), stations.get(1).getBikeTypes());
+    }
+
+    private static List<String> names(List<BikeTypeDetails> stations) {
+        return stations.stream().map(BikeTypeDetails::getStationName).toList();
+    }
+
+    private static BikeData bikeData(String stationName, Map<String, Integer> bikes) {
+        BikeData bikeData = new BikeData();
+        bikeData.setStationName(stationName);
+        BikeData.Metadata metadata = new BikeData.Metadata();
+        metadata.setBikes(bikes);
+        metadata.setMunicipality("Bolzano");
+        bikeData.setMetadata(metadata);
+        return bikeData;
+    }
+}
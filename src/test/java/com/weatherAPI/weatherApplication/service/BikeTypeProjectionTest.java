@@ -0,0 +1,50 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.weatherAPI.weatherApplication.model.BikeData;
+
+class BikeTypeProjectionTest {
+
+    private final BikeTypeProjection projection = BikeTypeProjection.build(List.of(bikeData("Station A", "Bolzano")));
+
+    @Test
+    void serialize_reusesJsonForTheSameMapper() throws JsonProcessingException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        String expected = "[{\"stationName\":\"Station A\",\"bikeTypes\":{\"e-bike\":2},\"municipality\":\"Bolzano\"}]";
+
+        assertEquals(expected, objectMapper.writeValueAsString(projection));
+        assertEquals(expected, objectMapper.writeValueAsString(projection));
+    }
+
+    @Test
+    void serialize_followsTheConfigurationOfEachMapper() throws JsonProcessingException {
+        new ObjectMapper().writeValueAsString(projection);
+
+        ObjectMapper snakeCase = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        assertEquals("[{\"station_name\":\"Station A\",\"bike_types\":{\"e-bike\":2},\"municipality\":\"Bolzano\"}]",
+                snakeCase.writeValueAsString(projection));
+
+        ObjectMapper indenting = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        assertEquals(indenting.writeValueAsString(List.copyOf(projection)), indenting.writeValueAsString(projection));
+    }
+
+    private static BikeData bikeData(String stationName, String municipality) {
+        BikeData bikeData = new BikeData();
+        bikeData.setStationName(stationName);
+        BikeData.Metadata metadata = new BikeData.Metadata();
+        metadata.setBikes(Map.of("e-bike", 2));
+        metadata.setMunicipality(municipality);
+        bikeData.setMetadata(metadata);
+        return bikeData;
+    }
+}
@@ -0,0 +1,73 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class GeoDistanceKernelTest {
+
+    private static final int STATIONS = 2000;
+
+    private final double[] latitudes = new double[STATIONS];
+    private final double[] longitudes = new double[STATIONS];
+
+    GeoDistanceKernelTest() {
+        Random random = new Random(7);
+        for (int i = 0; i < STATIONS; i++) {
+            latitudes[i] = -85 + random.nextDouble() * 170;
+            longitudes[i] = -180 + random.nextDouble() * 360;
+        }
+        for (int i = 0; i < STATIONS / 2; i++) {
+            latitudes[i] = 46.2 + random.nextDouble() * 0.8;
+            longitudes[i] = 10.4 + random.nextDouble() * 1.8;
+        }
+    }
+
+    @Test
+    void distancesFrom_exactMatchesHaversine() {
+        GeoDistanceKernel kernel = GeoDistanceKernel.of(latitudes, longitudes);
+        float[] out = new float[STATIONS];
+
+        for (int origin : new int[] {0, STATIONS / 2, STATIONS - 1}) {
+            kernel.distancesFrom(kernel, origin, 0, STATIONS, out, 0);
+            for (int j = 0; j < STATIONS; j++) {
+                double expected = StationDistanceMatrix.haversine(latitudes[origin], longitudes[origin], latitudes[j], longitudes[j]);
+                assertEquals(expected, out[j], Math.max(1e-3, expected * 1e-6));
+            }
+        }
+    }
+
+    @Test
+    void distancesFrom_approximationStaysWithinErrorBound() {
+        double maxErrorKm = 0.01;
+        GeoDistanceKernel kernel = GeoDistanceKernel.of(latitudes, longitudes, maxErrorKm);
+        float[] out = new float[STATIONS];
+
+        for (int origin = 0; origin < STATIONS; origin += 97) {
+            kernel.distancesFrom(latitudes[origin], longitudes[origin], 0, STATIONS, out, 0);
+            for (int j = 0; j < STATIONS; j++) {
+                double expected = StationDistanceMatrix.haversine(latitudes[origin], longitudes[origin], latitudes[j], longitudes[j]);
+                assertEquals(expected, out[j], maxErrorKm + Math.max(1e-3, expected * 1e-6));
+            }
+        }
+    }
+
+    @Test
+    void distancesFrom_writesRangeAtOffset() {
+        GeoDistanceKernel kernel = GeoDistanceKernel.of(latitudes, longitudes);
+        float[] out = new float[12];
+
+        kernel.distancesFrom(46.498, 11.354, 5, 10, out, 7);
+
+        assertEquals(0f, out[6]);
+        for (int j = 5; j < 10; j++) {
+            assertEquals(StationDistanceMatrix.haversine(46.498, 11.354, latitudes[j], longitudes[j]), out[7 + j - 5], 1e-3);
+        }
+        assertTrue(out[7] > 0);
+        assertThrows(IllegalArgumentException.class, () -> GeoDistanceKernel.of(latitudes, longitudes, -1));
+    }
+}
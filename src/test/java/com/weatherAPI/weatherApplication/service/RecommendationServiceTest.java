@@ -1,22 +1,124 @@
 package com.weatherAPI.weatherApplication.service;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.weatherAPI.weatherApplication.model.BikeStationNeighbor;
+import com.weatherAPI.weatherApplication.model.BikeStationRecommendation;
+import com.weatherAPI.weatherApplication.model.RankedBikeStation;
+import com.weatherAPI.weatherApplication.model.WeatherData;
+import com.weatherAPI.weatherApplication.model.WeatherDistrict;
 
 import org.junit.jupiter.api.Test;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 class RecommendationServiceTest {
 
+    @Mock
+    private BikeService bikeService;
+
+    @Mock
+    private WeatherDistrictRegistry weatherDistrictRegistry;
+
+    @InjectMocks
     private RecommendationService recommendationService;
 
     @BeforeEach
     void setUp() {
-        recommendationService = new RecommendationService();
+        MockitoAnnotations.openMocks(this);
+        when(weatherDistrictRegistry.getDistricts()).thenReturn(WeatherDistricts.of(List.of(
+                new WeatherDistrict("Bolzano, Überetsch and Unterland", 46.498, 11.354),
+                new WeatherDistrict("Burggrafenamt - Meran and surroundings", 46.67, 11.162),
+                new WeatherDistrict("Vinschgau", 46.69, 10.55),
+                new WeatherDistrict("Eisacktal and Sarntal", 46.6, 11.5),
+                new WeatherDistrict("Wipptal - Sterzing and surroundings", 46.85, 11.4),
+                new WeatherDistrict("Pustertal", 46.7, 11.9),
+                new WeatherDistrict("Ladinia - Dolomites", 46.5, 11.4))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        recommendationService.close();
+    }
+
+    @Test
+    void getBikeWeatherRecommendations_pagesThroughStationsByIdWithNearestNeighbors() {
+        when(bikeService.getSnapshot()).thenReturn(snapshot(
+                station(2, "Station C", 46.60, 11.50),
+                station(0, "Station A", 46.50, 11.35),
+                station(1, "Station B", 46.51, 11.36)));
+
+        Map<String, Object> first = recommendationService.getBikeWeatherRecommendations(null, 2, 1);
+        Map<String, Object> second = recommendationService.getBikeWeatherRecommendations((String) first.get("nextCursor"), 2, 1);
+
+        List<BikeStationRecommendation> firstStations = stations(first);
+        BikeStationRecommendation stationA = firstStations.get(0);
+        assertEquals(List.of("Station A", "Station B"), List.of(stationA.stationName(), firstStations.get(1).stationName()));
+        assertEquals("1", first.get("nextCursor"));
+        assertEquals(7, stationA.distancesToWeatherStations().size());
+        assertEquals(List.of(new BikeStationNeighbor("Station B", 1.0)), stationA.distancesToBikeStations());
+
+        List<BikeStationRecommendation> secondStations = stations(second);
+        assertEquals(1, secondStations.size());
+        assertEquals("Station C", secondStations.get(0).stationName());
+        assertNull(second.get("nextCursor"));
+    }
+
+    @Test
+    void forEachBikeWeatherRecommendation_streamsStationsAfterCursor() {
+        when(bikeService.getSnapshot()).thenReturn(snapshot(
+                station(0, "Station A", 46.50, 11.35),
+                station(1, "Station B", 46.51, 11.36),
+                station(2, "Station C", 46.60, 11.50)));
+        List<Object> names = new ArrayList<>();
+
+        recommendationService.forEachBikeWeatherRecommendation("0", 5, entry -> names.add(((BikeStationRecommendation) entry).stationName()));
+
+        assertEquals(List.of("Station B", "Station C"), names);
+        assertTrue(recommendationService.getBikeWeatherRecommendations("not-a-cursor", 10, 5).containsKey("error"));
+        assertTrue(recommendationService.getBikeWeatherRecommendations(null, 0, 5).containsKey("error"));
+    }
+
+    @Test
+    void getRankedBikeStations_keepsBestKAndShortensReachInBadWeather() {
+        when(bikeService.getSnapshot()).thenReturn(snapshot(
+                station(0, "Near empty", 46.70, 11.90, 1),
+                station(1, "Far full", 46.75, 11.90, 10),
+                station(2, "Near full", 46.701, 11.90, 10),
+                station(3, "No bikes", 46.70, 11.90, 0),
+                station(4, "Very far", 47.50, 11.90, 10)));
+
+        Map<String, Object> fair = recommendationService.getRankedBikeStations("pustertal", 3, null);
+
+        assertEquals("Pustertal", fair.get("weatherStationName"));
+        assertEquals(List.of("Near full", "Far full", "Near empty"), names(fair));
+
+        when(weatherDistrictRegistry.getDistricts()).thenReturn(WeatherDistricts.of(new WeatherData[] {
+                new WeatherData("Pustertal", List.of(new WeatherData.Forecast("Heavy rain", 12, 4, 46.7, 11.9)))}));
+
+        Map<String, Object> rainy = recommendationService.getRankedBikeStations("Pustertal", 2, 10.0);
+
+        assertEquals("Heavy rain", rainy.get("weatherDescription"));
+        assertEquals(List.of("Near full", "Near empty"), names(rainy));
+        assertTrue(recommendationService.getRankedBikeStations("Pustertal", 0, null).containsKey("error"));
+        assertTrue(recommendationService.getRankedBikeStations("Atlantis", 3, null).containsKey("error"));
     }
 
     @Test
@@ -98,6 +200,25 @@ class RecommendationServiceTest {
         assertEquals(0, ((Map<?, ?>) ((List<?>) response.get("bikeStationsWithDistances")).get(0)).get("availableBikes"));  
     }
 
+    @Test
+    void prepareDistanceMatrices_buildsOnThePoolFromTheLoadedDistricts() throws Exception {
+        CompletableFuture<String> buildThread = new CompletableFuture<>();
+        WeatherDistricts loadedDistricts = WeatherDistricts.of(List.of(new WeatherDistrict("Pustertal", 46.7, 11.9)));
+        when(weatherDistrictRegistry.getLoadedDistricts()).thenAnswer(invocation -> {
+            buildThread.complete(Thread.currentThread().getName());
+            return loadedDistricts;
+        });
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<BikeSnapshot>> listener = ArgumentCaptor.forClass(Consumer.class);
+
+        recommendationService.prepareDistanceMatrices();
+        verify(bikeService).addSnapshotListener(listener.capture());
+        listener.getValue().accept(snapshot(station(0, "Station A", 46.50, 11.35)));
+
+        assertTrue(buildThread.get(5, TimeUnit.SECONDS).startsWith("distance-matrix-"));
+        verify(weatherDistrictRegistry, never()).getDistricts();
+    }
+
     @Test
     void getBikeWeatherRecommendations_multipleWeatherStations() {
         List<Map<String, Object>> weatherData = new ArrayList<>();
@@ -134,4 +255,29 @@ class RecommendationServiceTest {
             "bikeStationsWithDistances", bikeStationsWithDistances
         );
     }
+
+    @SuppressWarnings("unchecked")
+    private static List<BikeStationRecommendation> stations(Map<String, Object> page) {
+        return (List<BikeStationRecommendation>) page.get("bikeStationsWithDistances");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> names(Map<String, Object> ranking) {
+        return ((List<RankedBikeStation>) ranking.get("rankedBikeStations")).stream().map(RankedBikeStation::stationName).toList();
+    }
+
+    @SafeVarargs
+    private static BikeSnapshot snapshot(Map<String, Object>... stations) {
+        return new BikeSnapshot(List.of(), new int[0], List.of(stations), Instant.now());
+    }
+
+    private static Map<String, Object> station(int stationId, String stationName, double latitude, double longitude) {
+        return station(stationId, stationName, latitude, longitude, 3);
+    }
+
+    private static Map<String, Object> station(int stationId, String stationName, double latitude, double longitude,
+                                               int availableBikes) {
+        return Map.of("stationId", stationId, "stationName", stationName, "availableBikes", availableBikes,
+                "latitude", latitude, "longitude", longitude);
+    }
 }
@@ -0,0 +1,147 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.weatherAPI.weatherApplication.model.CacheStats;
+
+class SnapshotCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(2);
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Runnable> backgroundTasks = new ArrayList<>();
+
+    @Test
+    void get_servesLoadedValueUntilExpired() {
+        SnapshotCache<Integer> cache = new SnapshotCache<>(loads::incrementAndGet, TTL, false, backgroundTasks::add, clock);
+
+        assertEquals(1, cache.get());
+        clock.advance(TTL);
+        assertEquals(1, cache.get());
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(2, cache.get());
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(2, stats.loads());
+    }
+
+    @Test
+    void get_servesStaleValueWhileRevalidating() {
+        SnapshotCache<Integer> cache = new SnapshotCache<>(loads::incrementAndGet, TTL, true, backgroundTasks::add, clock);
+
+        assertEquals(1, cache.get());
+        clock.advance(TTL.plusSeconds(1));
+
+        assertEquals(1, cache.get());
+        assertEquals(1, cache.get());
+        assertEquals(1, backgroundTasks.size());
+
+        backgroundTasks.get(0).run();
+        assertEquals(2, cache.get());
+        assertEquals(2, cache.getStats().staleHits());
+    }
+
+    @Test
+    void get_concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        SnapshotCache<Integer> cache = new SnapshotCache<>(() -> {
+            loadStarted.countDown();
+            await(releaseLoad);
+            return loads.incrementAndGet();
+        }, TTL, true, backgroundTasks::add, clock);
+
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(cache::get));
+        }
+        loadStarted.await(10, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        releaseLoad.countDown();
+
+        for (Future<Integer> result : results) {
+            assertEquals(1, result.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().loads());
+    }
+
+    @Test
+    void get_failedLoadIsRethrownAndRetried() {
+        SnapshotCache<Integer> cache = new SnapshotCache<>(() -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IllegalStateException("Upstream unavailable");
+            }
+            return loads.get();
+        }, TTL, true, backgroundTasks::add, clock);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, cache::get);
+        assertEquals("Upstream unavailable", exception.getMessage());
+        assertEquals(2, cache.get());
+        assertEquals(1, cache.getStats().loadFailures());
+    }
+
+    @Test
+    void refresh_loadsEvenWhenFresh() {
+        SnapshotCache<Integer> cache = new SnapshotCache<>(loads::incrementAndGet, TTL, true, backgroundTasks::add, clock);
+
+        assertEquals(1, cache.get());
+        assertEquals(2, cache.refresh());
+        assertEquals(2, cache.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-06T08:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class StationDistanceMatrixTest {
+
+    private final double[] latitudes = {46.498, 46.67, 46.69, 46.6};
+    private final double[] longitudes = {11.354, 11.162, 10.55, 11.5};
+    private final double[] weatherLatitudes = {46.85, 46.7};
+    private final double[] weatherLongitudes = {11.4, 11.9};
+
+    private final StationDistanceMatrix matrix =
+            StationDistanceMatrix.build(latitudes, longitudes, weatherLatitudes, weatherLongitudes);
+
+    @Test
+    void neighbors_areAllOtherStationsClosestFirst() {
+        assertEquals(latitudes.length - 1, matrix.neighborCount());
+        for (int i = 0; i < latitudes.length; i++) {
+            Set<Integer> seen = new HashSet<>();
+            for (int rank = 0; rank < matrix.neighborCount(); rank++) {
+                int j = matrix.neighbor(i, rank);
+                double expected = StationDistanceMatrix.haversine(latitudes[i], longitudes[i], latitudes[j], longitudes[j]);
+                assertEquals(expected, matrix.neighborDistance(i, rank), 1e-3);
+                assertTrue(rank == 0 || matrix.neighborDistance(i, rank - 1) <= matrix.neighborDistance(i, rank));
+                assertTrue(j != i && seen.add(j));
+            }
+        }
+    }
+
+    @Test
+    void build_inParallelBlocksMatchesSingleThread() {
+        Random random = new Random(3);
+        int stations = StationDistanceMatrix.BLOCK_ROWS * 5 + 7;
+        double[] lats = new double[stations];
+        double[] lons = new double[stations];
+        for (int i = 0; i < stations; i++) {
+            lats[i] = 46.2 + random.nextDouble() * 0.8;
+            lons[i] = 10.4 + random.nextDouble() * 1.8;
+        }
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        StationDistanceMatrix sequential;
+        StationDistanceMatrix parallel;
+        try {
+            sequential = StationDistanceMatrix.build(lats, lons, weatherLatitudes, weatherLongitudes, 0, 5, single);
+            parallel = StationDistanceMatrix.build(lats, lons, weatherLatitudes, weatherLongitudes, 0, 5, four);
+        } finally {
+            single.shutdown();
+            four.shutdown();
+        }
+
+        assertEquals(5, parallel.neighborCount());
+        for (int i = 0; i < stations; i++) {
+            for (int rank = 0; rank < 5; rank++) {
+                assertEquals(sequential.neighbor(i, rank), parallel.neighbor(i, rank));
+                assertEquals(sequential.neighborDistance(i, rank), parallel.neighborDistance(i, rank));
+            }
+            assertEquals(sequential.toWeatherStation(i, 1), parallel.toWeatherStation(i, 1));
+        }
+    }
+
+    @Test
+    void build_rejectsMatricesBeyondTheMaximumArraySize() {
+        double[] many = new double[50_000];
+
+        assertThrows(IllegalArgumentException.class, () -> StationDistanceMatrix.build(many, many,
+                weatherLatitudes, weatherLongitudes, 0, 50_000, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    void toWeatherStation_matchesHaversine() {
+        for (int i = 0; i < latitudes.length; i++) {
+            for (int j = 0; j < weatherLatitudes.length; j++) {
+                double expected = StationDistanceMatrix.haversine(latitudes[i], longitudes[i], weatherLatitudes[j], weatherLongitudes[j]);
+                assertEquals(expected, matrix.toWeatherStation(i, j), 1e-3);
+            }
+        }
+    }
+
+    @Test
+    void isFor_detectsChangedCoordinates() {
+        double[] moved = latitudes.clone();
+        moved[2] += 0.001;
+
+        assertTrue(matrix.isFor(latitudes.clone(), longitudes.clone(), weatherLatitudes.clone(), weatherLongitudes.clone(), 0, 3));
+        assertFalse(matrix.isFor(moved, longitudes, weatherLatitudes, weatherLongitudes, 0, 3));
+        assertFalse(matrix.isFor(new double[] {46.498}, new double[] {11.354}, weatherLatitudes, weatherLongitudes, 0, 3));
+        assertFalse(matrix.isFor(latitudes, longitudes, weatherLatitudes, weatherLongitudes, 0.01, 3));
+        assertFalse(matrix.isFor(latitudes, longitudes, weatherLatitudes, weatherLongitudes, 0, 2));
+    }
+}
@@ -0,0 +1,82 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.weatherAPI.weatherApplication.model.BikeData;
+
+class StationRegistryTest {
+
+    private final StationRegistry registry = new StationRegistry();
+
+    @Test
+    void register_keepsIdsStableAcrossSnapshots() {
+        assertArrayEquals(new int[] {0, 1, -1},
+                registry.register(List.of(bikeData("Station A", 46.5, 11.35), bikeData("Station B", 46.6, 11.4), bikeData(null, 0, 0))));
+
+        assertArrayEquals(new int[] {1, 2, 0},
+                registry.register(List.of(bikeData("Station B", 46.6, 11.4), bikeData("Station C", 46.7, 11.45), bikeData("Station A", 46.5, 11.35))));
+        assertEquals(3, registry.idCount());
+    }
+
+    @Test
+    void register_retiresStationsMissingFromTheFeed() {
+        registry.register(List.of(bikeData("Station A", 46.5, 11.35), bikeData("Station B", 46.6, 11.4)));
+        registry.register(List.of(bikeData("Station A", 46.5, 11.35), bikeData("Station B", 46.61, 11.4)));
+
+        assertArrayEquals(new int[] {0, 3},
+                registry.register(List.of(bikeData("Station A", 46.5, 11.35), bikeData("Station B", 46.6, 11.4))));
+        assertEquals(4, registry.idCount());
+    }
+
+    @Test
+    void register_distinguishesStationsByCoordinates() {
+        int[] ids = registry.register(List.of(bikeData("Station A", 46.5, 11.35), bikeData("Station A", 46.5, 11.36)));
+
+        assertArrayEquals(new int[] {0, 1}, ids);
+    }
+
+    @Test
+    void register_internsNamesAndMunicipalities() {
+        BikeData first = bikeData(new String("Station A"), 46.5, 11.35);
+        BikeData second = bikeData(new String("Station A"), 46.5, 11.35);
+        first.getMetadata().setMunicipality(new String("Bolzano"));
+        second.getMetadata().setMunicipality(new String("Bolzano"));
+
+        registry.register(List.of(first));
+        registry.register(List.of(second));
+
+        assertSame(first.getStationName(), second.getStationName());
+        assertSame(first.getMetadata().getMunicipality(), second.getMetadata().getMunicipality());
+    }
+
+    @Test
+    void register_assignsConsecutiveIds() {
+        List<BikeData> bikeDataList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            bikeDataList.add(bikeData("Station " + i, 46.5, 11.35));
+        }
+
+        int[] ids = registry.register(bikeDataList);
+
+        assertEquals(999, ids[999]);
+        assertEquals(1000, registry.idCount());
+    }
+
+    private static BikeData bikeData(String stationName, double latitude, double longitude) {
+        BikeData bikeData = new BikeData();
+        bikeData.setStationName(stationName);
+        BikeData.Coordinate coordinate = new BikeData.Coordinate();
+        coordinate.setLatitude(latitude);
+        coordinate.setLongitude(longitude);
+        bikeData.setCoordinate(coordinate);
+        bikeData.setMetadata(new BikeData.Metadata());
+        return bikeData;
+    }
+}
@@ -0,0 +1,80 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class StationSpatialIndexTest {
+
+    private static final int STATIONS = 500;
+
+    private final double[] latitudes = new double[STATIONS];
+    private final double[] longitudes = new double[STATIONS];
+    private final StationSpatialIndex index;
+
+    StationSpatialIndexTest() {
+        Random random = new Random(42);
+        for (int i = 0; i < STATIONS; i++) {
+            latitudes[i] = 46.2 + random.nextDouble() * 0.8;
+            longitudes[i] = 10.4 + random.nextDouble() * 1.8;
+        }
+        latitudes[STATIONS - 1] = latitudes[0];
+        longitudes[STATIONS - 1] = longitudes[0];
+        index = StationSpatialIndex.build(latitudes, longitudes);
+    }
+
+    @Test
+    void nearest_matchesFullScan() {
+        for (double[] point : new double[][] {{46.498, 11.354}, {46.85, 11.4}, {45.0, 9.0}}) {
+            List<Integer> expected = byDistance(point[0], point[1]).limit(7).boxed().toList();
+
+            List<StationSpatialIndex.Neighbor> nearest = index.nearest(point[0], point[1], 7, Double.POSITIVE_INFINITY);
+
+            assertEquals(expected, nearest.stream().map(StationSpatialIndex.Neighbor::station).toList());
+            for (StationSpatialIndex.Neighbor neighbor : nearest) {
+                assertEquals(haversine(point[0], point[1], neighbor.station()), neighbor.distanceKm(), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    void withinRadius_matchesFullScan() {
+        List<Integer> expected = byDistance(46.6, 11.5).filter(i -> haversine(46.6, 11.5, i) <= 10).boxed().toList();
+
+        List<StationSpatialIndex.Neighbor> within = index.withinRadius(46.6, 11.5, 10);
+
+        assertTrue(expected.size() > 1);
+        assertEquals(expected, within.stream().map(StationSpatialIndex.Neighbor::station).toList());
+        assertEquals(3, index.nearest(46.6, 11.5, 3, 10).size());
+        assertTrue(index.withinRadius(40.0, 0.0, 10).isEmpty());
+    }
+
+    @Test
+    void nearest_handlesEmptyIndexAndLargeK() {
+        StationSpatialIndex empty = StationSpatialIndex.build(new double[0], new double[0]);
+
+        assertTrue(empty.nearest(46.5, 11.35, 3, Double.POSITIVE_INFINITY).isEmpty());
+        assertEquals(STATIONS, index.nearest(46.5, 11.35, Integer.MAX_VALUE, Double.POSITIVE_INFINITY).size());
+    }
+
+    private IntStream byDistance(double latitude, double longitude) {
+        return IntStream.range(0, STATIONS).boxed()
+                .sorted(Comparator.comparingDouble(i -> haversine(latitude, longitude, i)))
+                .mapToInt(Integer::intValue);
+    }
+
+    private double haversine(double latitude, double longitude, int station) {
+        double latDistance = Math.toRadians(latitudes[station] - latitude);
+        double lonDistance = Math.toRadians(longitudes[station] - longitude);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(latitudes[station]))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        return 6371 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
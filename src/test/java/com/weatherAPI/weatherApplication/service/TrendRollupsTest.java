@@ -0,0 +1,96 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.weatherAPI.weatherApplication.model.BikeTrend;
+import com.weatherAPI.weatherApplication.model.RollupBucket;
+import com.weatherAPI.weatherApplication.model.RollupResolution;
+import com.weatherAPI.weatherApplication.model.StationRollups;
+
+class TrendRollupsTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 6, 8, 0);
+
+    @Test
+    void addAll_aggregatesEverySampleByHourAndDay() {
+        TrendRollups rollups = new TrendRollups();
+
+        rollups.addAll(List.of(
+                trend("Station A", 4, START),
+                trend("Station A", 4, START.plusMinutes(15)),
+                trend("Station A", 1, START.plusMinutes(30)),
+                trend("Station A", 6, START.plusMinutes(75))));
+
+        assertEquals(List.of(
+                new RollupBucket(START, 3, 1, 4, 9, 1),
+                new RollupBucket(START.plusHours(1), 1, 6, 6, 6, 6)), buckets(rollups, RollupResolution.HOUR));
+        assertEquals(List.of(
+                new RollupBucket(START.toLocalDate().atStartOfDay(), 4, 1, 6, 15, 6)), buckets(rollups, RollupResolution.DAY));
+    }
+
+    @Test
+    void addAll_dropsBucketsOlderThanRetention() {
+        TrendRollups rollups = new TrendRollups(Duration.ofHours(2), Duration.ofDays(30));
+
+        rollups.addAll(List.of(
+                trend("Station A", 1, START),
+                trend("Station A", 2, START.plusHours(1)),
+                trend("Station A", 3, START.plusHours(2))));
+
+        List<RollupBucket> hourly = buckets(rollups, RollupResolution.HOUR);
+        assertEquals(2, hourly.size());
+        assertEquals(START.plusHours(1), hourly.get(0).start());
+        assertEquals(1, buckets(rollups, RollupResolution.DAY).size());
+    }
+
+    @Test
+    void addAll_dropsStationsThatLeftTheFeedOnceTheirBucketsExpire() {
+        TrendRollups rollups = new TrendRollups(Duration.ofHours(2), Duration.ofDays(2));
+        rollups.addAll(List.of(trend("Station A", 1, START), trend("Station B", 2, START)));
+
+        rollups.addAll(List.of(trend("Station B", 3, START.plusHours(3))));
+
+        assertTrue(rollups.query("Station A", RollupResolution.HOUR, null, null).isEmpty());
+        assertEquals(1, buckets(rollups, RollupResolution.DAY).size());
+
+        rollups.addAll(List.of(trend("Station B", 4, START.plusDays(2))));
+
+        List<StationRollups> stations = rollups.query(null, RollupResolution.DAY, null, null);
+        assertEquals(List.of("Station B"), stations.stream().map(StationRollups::stationName).toList());
+    }
+
+    @Test
+    void query_filtersByStationAndBucketStart() {
+        TrendRollups rollups = new TrendRollups();
+        rollups.addAll(List.of(
+                trend("Station A", 1, START),
+                trend("Station B", 2, START),
+                trend("Station A", 3, START.plusHours(1)),
+                trend("Station A", 5, START.plusHours(2))));
+
+        List<StationRollups> result = rollups.query("Station A", RollupResolution.HOUR, START.plusHours(1), START.plusHours(1));
+
+        assertEquals(1, result.size());
+        assertEquals(List.of(new RollupBucket(START.plusHours(1), 1, 3, 3, 3, 3)), result.get(0).buckets());
+        assertEquals(2, rollups.query(null, RollupResolution.DAY, null, null).size());
+        assertTrue(rollups.query("Unknown", RollupResolution.DAY, null, null).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> rollups.query(null, RollupResolution.HOUR, START.plusHours(1), START));
+    }
+
+    private static List<RollupBucket> buckets(TrendRollups rollups, RollupResolution resolution) {
+        return rollups.query("Station A", resolution, null, null).get(0).buckets();
+    }
+
+    private static BikeTrend trend(String stationName, int availableBikes, LocalDateTime timestamp) {
+        return new BikeTrend(stationName, availableBikes, timestamp, 46.5, 11.35);
+    }
+}
@@ -0,0 +1,251 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import com.weatherAPI.weatherApplication.model.BikeTrend;
+import com.weatherAPI.weatherApplication.model.StationTrendSeries;
+import com.weatherAPI.weatherApplication.model.TrendBucket;
+import com.weatherAPI.weatherApplication.model.TrendStoreStats;
+
+class TrendStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 6, 8, 0);
+
+    @Test
+    void add_skipsSameCountOnSameDay() {
+        TrendStore store = new TrendStore();
+
+        assertTrue(store.add(trend("Station A", 5, START)));
+        assertFalse(store.add(trend("Station A", 5, START.plusHours(3))));
+        assertTrue(store.add(trend("Station A", 5, START.plusDays(1))));
+        assertTrue(store.add(trend("Station B", 5, START)));
+
+        assertEquals(3, store.getTrends().size());
+    }
+
+    @Test
+    void add_skipsCountSeenEarlierThatDay() {
+        TrendStore store = new TrendStore();
+
+        assertTrue(store.add(trend("Station A", 5, START)));
+        assertTrue(store.add(trend("Station A", 6, START.plusHours(1))));
+        assertFalse(store.add(trend("Station A", 5, START.plusHours(2))));
+        assertTrue(store.add(trend("Station A", 5, START.plusDays(1))));
+    }
+
+    @Test
+    void add_keepsOneColumnRecordPerStation() {
+        TrendStore store = new TrendStore();
+        int samples = 1000;
+
+        for (int minute = 0; minute < samples; minute++) {
+            store.add(trend("Station A", minute, START.plusMinutes(minute)));
+            store.add(trend("Station B", minute, START.plusMinutes(minute)));
+        }
+
+        TrendStoreStats stats = store.getStats();
+        assertEquals(2 * samples, stats.entries());
+        assertEquals(2, stats.stations());
+        assertTrue(stats.columnBytes() <= 2L * samples * (Long.BYTES + Integer.BYTES) * 3 / 2);
+        assertEquals(START.plusMinutes(samples - 1), store.getTrends().get(2 * samples - 1).getTimestamp());
+    }
+
+    @Test
+    void addAll_notifiesListenersOfStoredTrendsOnly() {
+        TrendStore store = new TrendStore();
+        List<List<BikeTrend>> batches = new ArrayList<>();
+        store.addListener(batches::add);
+
+        BikeTrend first = trend("Station A", 5, START);
+        BikeTrend second = trend("Station B", 3, START);
+        store.addAll(List.of(first, second));
+        store.addAll(List.of(trend("Station A", 5, START.plusMinutes(5))));
+
+        assertEquals(List.of(List.of(first, second)), batches);
+    }
+
+    @Test
+    void getTrends_returnsOldestFirstAcrossPartitions() {
+        TrendStore store = new TrendStore();
+
+        store.add(trend("Station A", 1, START));
+        store.add(trend("Station A", 2, START.plusHours(2)));
+        store.add(trend("Station A", 3, START.plusHours(1)));
+
+        List<BikeTrend> trends = store.getTrends();
+        assertEquals(1, trends.get(0).getAvailableBikes());
+        assertEquals(3, trends.get(1).getAvailableBikes());
+        assertEquals(2, trends.get(2).getAvailableBikes());
+    }
+
+    @Test
+    void add_dropsPartitionsOlderThanMaxAge() {
+        TrendStore store = new TrendStore(Duration.ofHours(1), Duration.ofHours(2), 1000);
+
+        store.add(trend("Station A", 1, START));
+        store.add(trend("Station B", 1, START.plusMinutes(30)));
+        store.add(trend("Station A", 2, START.plusHours(1)));
+        store.add(trend("Station A", 3, START.plusHours(3)));
+
+        List<BikeTrend> trends = store.getTrends();
+        assertEquals(2, trends.size());
+        assertEquals(2, trends.get(0).getAvailableBikes());
+
+        TrendStoreStats stats = store.getStats();
+        assertEquals(2, stats.entries());
+        assertEquals(1, stats.stations());
+        assertEquals(2, stats.partitions());
+        assertEquals(2, stats.evictedEntries());
+        assertEquals(1, stats.evictedPartitions());
+    }
+
+    @Test
+    void add_dropsOldestPartitionsAboveMaxEntries() {
+        TrendStore store = new TrendStore(Duration.ofHours(1), Duration.ofDays(7), 2);
+
+        store.add(trend("Station A", 1, START));
+        store.add(trend("Station A", 2, START.plusHours(1)));
+        store.add(trend("Station B", 2, START.plusHours(1)));
+
+        List<BikeTrend> trends = store.getTrends();
+        assertEquals(2, trends.size());
+        assertEquals("Station A", trends.get(0).getStationName());
+        assertEquals(2, trends.get(0).getAvailableBikes());
+        assertEquals(1, store.getStats().evictedEntries());
+    }
+
+    @Test
+    void add_acceptsEvictedTrendAgain() {
+        TrendStore store = new TrendStore(Duration.ofHours(1), Duration.ofDays(7), 1);
+
+        store.add(trend("Station A", 1, START));
+        store.add(trend("Station A", 2, START.plusHours(1)));
+
+        assertTrue(store.add(trend("Station A", 1, START.plusHours(2))));
+    }
+
+    @Test
+    void query_aggregatesStationIntoBuckets() {
+        TrendStore store = storeWithTwoStations();
+
+        List<StationTrendSeries> series = store.query("Station A", null, null, Duration.ofHours(1));
+
+        assertEquals(1, series.size());
+        assertEquals("Station A", series.get(0).stationName());
+        assertEquals(List.of(
+                new TrendBucket(START, 3, 1, 5, 3.0),
+                new TrendBucket(START.plusHours(1), 1, 2, 2, 2.0)), series.get(0).buckets());
+    }
+
+    @Test
+    void query_limitsToInclusiveRange() {
+        TrendStore store = storeWithTwoStations();
+
+        List<StationTrendSeries> series = store.query("Station A", START.plusMinutes(20), START.plusMinutes(70), Duration.ofMinutes(30));
+
+        assertEquals(List.of(
+                new TrendBucket(START, 1, 5, 5, 5.0),
+                new TrendBucket(START.plusMinutes(30), 1, 3, 3, 3.0),
+                new TrendBucket(START.plusHours(1), 1, 2, 2, 2.0)), series.get(0).buckets());
+    }
+
+    @Test
+    void query_returnsEveryStationWithSamplesInRange() {
+        TrendStore store = storeWithTwoStations();
+
+        assertEquals(2, store.query(null, null, null, Duration.ofDays(1)).size());
+        assertEquals(1, store.query(null, START.plusHours(1), null, Duration.ofDays(1)).size());
+        assertTrue(store.query("Unknown", null, null, Duration.ofDays(1)).isEmpty());
+    }
+
+    private static TrendStore storeWithTwoStations() {
+        TrendStore store = new TrendStore();
+        store.addAll(List.of(
+                trend("Station A", 1, START),
+                trend("Station B", 7, START.plusMinutes(5)),
+                trend("Station A", 5, START.plusMinutes(20)),
+                trend("Station A", 3, START.plusMinutes(40)),
+                trend("Station A", 2, START.plusMinutes(70))));
+        return store;
+    }
+
+    @Test
+    void concurrentIngestAndReads_keepEveryTrend() throws Exception {
+        int writers = 8;
+        int readers = 4;
+        int stationsPerWriter = 50;
+        int polls = 200;
+        TrendStore store = new TrendStore(Duration.ofHours(1), Duration.ofDays(7), Integer.MAX_VALUE);
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writerResults = new ArrayList<>();
+        List<Future<?>> readerResults = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            String prefix = "Writer " + w + " Station ";
+            writerResults.add(executor.submit(() -> {
+                start.await();
+                for (int poll = 0; poll < polls; poll++) {
+                    List<BikeTrend> batch = new ArrayList<>();
+                    for (int station = 0; station < stationsPerWriter; station++) {
+                        batch.add(trend(prefix + station, poll, START.plusMinutes(poll)));
+                    }
+                    assertEquals(stationsPerWriter, store.addAll(batch));
+                    assertEquals(0, store.addAll(batch));
+                }
+                return null;
+            }));
+        }
+        for (int r = 0; r < readers; r++) {
+            readerResults.add(executor.submit(() -> {
+                start.await();
+                int lastSize = 0;
+                while (writing.get()) {
+                    List<BikeTrend> trends = store.getTrends();
+                    assertTrue(trends.size() >= lastSize);
+                    for (BikeTrend trend : trends) {
+                        assertNotNull(trend.getStationName());
+                    }
+                    lastSize = trends.size();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> result : writerResults) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        for (Future<?> result : readerResults) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int expected = writers * stationsPerWriter * polls;
+        assertEquals(expected, store.getTrends().size());
+        assertEquals(expected, store.getStats().entries());
+    }
+
+    private static BikeTrend trend(String stationName, int availableBikes, LocalDateTime timestamp) {
+        return new BikeTrend(stationName, availableBikes, timestamp, 46.5, 11.35);
+    }
+}
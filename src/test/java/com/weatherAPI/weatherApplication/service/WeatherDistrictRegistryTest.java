@@ -0,0 +1,161 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.weatherAPI.weatherApplication.model.WeatherData;
+import com.weatherAPI.weatherApplication.model.WeatherData.Forecast;
+import com.weatherAPI.weatherApplication.model.WeatherDistrict;
+
+class WeatherDistrictRegistryTest {
+
+    private final List<Object> responses = new ArrayList<>();
+    private int fetches;
+
+    private final WeatherService weatherService = new WeatherService(null) {
+        @Override
+        public WeatherData[] getWeatherData() {
+            fetches++;
+            Object response = responses.size() > 1 ? responses.remove(0) : responses.get(0);
+            if (response instanceof RuntimeException e) {
+                throw e;
+            }
+            return (WeatherData[]) response;
+        }
+    };
+
+    private final MutableClock clock = new MutableClock();
+
+    private final WeatherDistrictRegistry registry = new WeatherDistrictRegistry(weatherService, Duration.ofMinutes(1), clock);
+
+    @Test
+    void getDistricts_locatesDistrictsFromForecastCoordinates() {
+        responses.add(new WeatherData[] {
+                district("Burggrafenamt - Meran and surroundings", new Forecast("Sunny", 20, 10, null, null),
+                        new Forecast("Sunny", 21, 11, 46.67, 11.162)),
+                district("Wipptal - Sterzing and surroundings", new Forecast("Cloudy", 15, 5, 46.85, 11.4)),
+                district("Pustertal"),
+        });
+
+        WeatherDistricts districts = registry.getDistricts();
+
+        assertEquals(List.of(new WeatherDistrict("Burggrafenamt - Meran and surroundings", 46.67, 11.162),
+                new WeatherDistrict("Wipptal - Sterzing and surroundings", 46.85, 11.4)), districts.getDistricts());
+        assertEquals("Burggrafenamt - Meran and surroundings", districts.find("Burggrafenamt - Meran and surroundings").orElseThrow().districtName());
+        assertEquals("Burggrafenamt - Meran and surroundings", districts.find("MERAN").orElseThrow().districtName());
+        assertEquals("Wipptal - Sterzing and surroundings", districts.find(" sterzing ").orElseThrow().districtName());
+        assertTrue(districts.find("surroundings").isEmpty());
+        assertTrue(districts.find("Pustertal").isEmpty());
+    }
+
+    @Test
+    void getDistricts_rebuildsOnlyForNewSnapshot() {
+        WeatherData[] snapshot = {district("Vinschgau", new Forecast("Sunny", 20, 10, 46.69, 10.55))};
+        responses.add(snapshot);
+        responses.add(snapshot);
+        responses.add(new WeatherData[] {district("Pustertal", new Forecast("Sunny", 20, 10, 46.7, 11.9))});
+
+        WeatherDistricts first = registry.getDistricts();
+
+        assertSame(first, registry.getDistricts());
+        assertEquals("Pustertal", registry.getDistricts().getDistricts().get(0).districtName());
+    }
+
+    @Test
+    void getDistricts_keepsPreviousDistrictsWhenFetchFails() {
+        ResourceAccessException failure = new ResourceAccessException("timeout");
+        responses.add(failure);
+        assertSame(WeatherDistrictRegistry.DEFAULT_DISTRICTS, registry.getDistricts());
+
+        responses.clear();
+        responses.add(new WeatherData[] {district("Vinschgau", new Forecast("Sunny", 20, 10, 46.69, 10.55))});
+        responses.add(failure);
+        clock.advance(Duration.ofMinutes(1));
+        WeatherDistricts districts = registry.getDistricts();
+
+        assertSame(districts, registry.getDistricts());
+    }
+
+    @Test
+    void getDistricts_waitsForTheRetryDelayAfterAFailedFetch() {
+        responses.add(new ResourceAccessException("timeout"));
+
+        assertSame(WeatherDistrictRegistry.DEFAULT_DISTRICTS, registry.getDistricts());
+        assertSame(WeatherDistrictRegistry.DEFAULT_DISTRICTS, registry.getDistricts());
+        clock.advance(Duration.ofSeconds(59));
+        assertSame(WeatherDistrictRegistry.DEFAULT_DISTRICTS, registry.getDistricts());
+        assertEquals(1, fetches);
+
+        responses.clear();
+        responses.add(new WeatherData[] {district("Vinschgau", new Forecast("Sunny", 20, 10, 46.69, 10.55))});
+        clock.advance(Duration.ofSeconds(1));
+
+        assertEquals("Vinschgau", registry.getDistricts().getDistricts().get(0).districtName());
+        assertEquals(2, fetches);
+    }
+
+    @Test
+    void getDistricts_usesBuiltInDistrictsWhenFeedLocatesNone() {
+        responses.add(new WeatherData[] {district("Pustertal", new Forecast("Sunny", 20, 10, null, null))});
+
+        WeatherDistricts districts = registry.getDistricts();
+
+        assertSame(WeatherDistrictRegistry.DEFAULT_DISTRICTS, districts);
+        assertEquals(7, districts.size());
+        assertEquals("Bolzano, Überetsch and Unterland", districts.find("bolzano").orElseThrow().districtName());
+    }
+
+    @Test
+    void getLoadedDistricts_doesNotFetchTheWeatherFeed() {
+        responses.add(new IllegalStateException("the feed must not be fetched"));
+        assertSame(WeatherDistrictRegistry.DEFAULT_DISTRICTS, registry.getLoadedDistricts());
+
+        responses.clear();
+        responses.add(new WeatherData[] {district("Vinschgau", new Forecast("Sunny", 20, 10, 46.69, 10.55))});
+        WeatherDistricts districts = registry.getDistricts();
+        responses.clear();
+        responses.add(new IllegalStateException("the feed must not be fetched"));
+
+        assertSame(districts, registry.getLoadedDistricts());
+    }
+
+    private static WeatherData district(String name, Forecast... forecasts) {
+        return new WeatherData(name, List.of(forecasts));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-06T08:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
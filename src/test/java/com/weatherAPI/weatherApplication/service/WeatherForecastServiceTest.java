@@ -0,0 +1,55 @@
+package com.weatherAPI.weatherApplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weatherAPI.weatherApplication.model.DistrictForecast;
+
+class WeatherForecastServiceTest {
+
+    private static final String RESPONSE = "[{\"DistrictName\":\"Pustertal\",\"BezirksForecast\":["
+            + "{\"date\":\"2025-01-06\",\"WeatherDesc\":\"Sunny\",\"MaxTemp\":5,\"MinTemp\":-3,\"Freeze\":1500,"
+            + "\"RainFrom\":0,\"RainTo\":10,\"Thunderstorm\":\"1\",\"Part1\":1},"
+            + "{\"date\":\"2025-01-07\",\"WeatherDesc\":\"Cloudy\",\"MaxTemp\":\"4\",\"MinTemp\":\"-2\",\"Freeze\":\"1200\","
+            + "\"RainFrom\":\"5\",\"RainTo\":\"20\",\"Thunderstorm\":2}]}]";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final WeatherForecastService weatherForecastService = new WeatherForecastService(new RestTemplate() {
+        @Override
+        public <T> T getForObject(String url, Class<T> responseType, Object... uriVariables) {
+            try {
+                return objectMapper.readValue(RESPONSE, responseType);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    });
+
+    @Test
+    void getWeatherForecastForAllStations_bindsTheForecastOfTheRequestedDay() {
+        List<DistrictForecast> forecasts = weatherForecastService.getWeatherForecastForAllStations("2025-01-06");
+
+        assertEquals(6, forecasts.size());
+        assertEquals(new DistrictForecast("Sunny", 5, -3, 1500, 0, 10, "1", "Bolzano", "2025-01-06"), forecasts.get(0));
+    }
+
+    @Test
+    void getWeatherForecastForAllStations_coercesNumbersSentAsStrings() {
+        DistrictForecast forecast = weatherForecastService.getWeatherForecastForAllStations("2025-01-07").get(0);
+
+        assertEquals(new DistrictForecast("Cloudy", 4, -2, 1200, 5, 20, "2", "Bolzano", "2025-01-07"), forecast);
+    }
+
+    @Test
+    void getWeatherForecastForAllStations_returnsNothingForDaysWithoutForecast() {
+        assertTrue(weatherForecastService.getWeatherForecastForAllStations("2025-01-08").isEmpty());
+    }
+}
@@ -2,28 +2,42 @@ package com.weatherAPI.weatherApplication.service;
 
 import com.weatherAPI.weatherApplication.model.WeatherData;
 import com.weatherAPI.weatherApplication.model.UserPreferences;
+import com.weatherAPI.weatherApplication.model.WeatherRecommendation;
+import com.weatherAPI.weatherApplication.model.WeatherTrend;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 class WeatherServiceTest {
 
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
-    private WeatherService weatherService;
+    private final WeatherService weatherService;
 
     public WeatherServiceTest() {
         MockitoAnnotations.openMocks(this);
+        weatherService = new WeatherService(restTemplate);
+    }
+
+    private void stubWeatherFeed(WeatherData[] weatherData) {
+        when(restTemplate.exchange(eq(WeatherService.API_URL), eq(HttpMethod.GET), any(HttpEntity.class), eq(WeatherData[].class)))
+            .thenReturn(ResponseEntity.ok(weatherData));
     }
 
     @Test
@@ -31,9 +45,7 @@ class WeatherServiceTest {
         WeatherData mockWeatherData = new WeatherData();
         mockWeatherData.setDistrictName("Test District");
 
-        when(restTemplate.getForObject(
-            "https://tourism.api.opendatahub.com/v1/Weather/District", WeatherData[].class
-        )).thenReturn(new WeatherData[]{mockWeatherData});
+        stubWeatherFeed(new WeatherData[]{mockWeatherData});
 
         WeatherData[] weatherData = weatherService.getWeatherData();
 
@@ -41,6 +53,36 @@ class WeatherServiceTest {
         assertEquals("Test District", weatherData[0].getDistrictName());
     }
 
+    @Test
+    void getWeatherData_servesSnapshotWithinTtl() {
+        stubWeatherFeed(new WeatherData[]{new WeatherData()});
+
+        WeatherData[] first = weatherService.getWeatherData();
+        weatherService.getWeatherTrends();
+        weatherService.getWeatherTrends();
+
+        assertSame(first, weatherService.getWeatherData());
+        verify(restTemplate, times(1)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(WeatherData[].class));
+    }
+
+    @Test
+    void getWeatherData_revalidatesWithETag() {
+        // a negative ttl expires every snapshot as soon as it is loaded
+        WeatherService revalidating = new WeatherService(restTemplate, Duration.ofMillis(-1), false);
+        WeatherData[] original = {new WeatherData()};
+        when(restTemplate.exchange(eq(WeatherService.API_URL), eq(HttpMethod.GET), any(HttpEntity.class), eq(WeatherData[].class)))
+            .thenReturn(ResponseEntity.ok().eTag("\"v1\"").body(original))
+            .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        assertSame(original, revalidating.getWeatherData());
+        assertSame(original, revalidating.getWeatherData());
+
+        ArgumentCaptor<HttpEntity> requests = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).exchange(eq(WeatherService.API_URL), eq(HttpMethod.GET), requests.capture(), eq(WeatherData[].class));
+        assertTrue(requests.getAllValues().get(0).getHeaders().getIfNoneMatch().isEmpty());
+        assertEquals(List.of("\"v1\""), requests.getAllValues().get(1).getHeaders().getIfNoneMatch());
+    }
+
     @Test
     void getWeatherTrends_success() {
         WeatherData mockWeatherData = new WeatherData();
@@ -58,16 +100,30 @@ class WeatherServiceTest {
 
         mockWeatherData.setForecast(List.of(forecast1, forecast2));
 
-        when(restTemplate.getForObject(
-            "https://tourism.api.opendatahub.com/v1/Weather/District", WeatherData[].class
-        )).thenReturn(new WeatherData[]{mockWeatherData});
+        stubWeatherFeed(new WeatherData[]{mockWeatherData});
 
-        List<Map<String, Object>> trends = weatherService.getWeatherTrends();
+        List<WeatherTrend> trends = weatherService.getWeatherTrends();
 
         assertEquals(1, trends.size());
-        assertEquals("Test District", trends.get(0).get("DistrictName"));
-        assertEquals(26.5, trends.get(0).get("AverageMaxTemp")); 
-        assertEquals(16.5, trends.get(0).get("AverageMinTemp"));
+        assertEquals("Test District", trends.get(0).districtName());
+        assertEquals(26.5, trends.get(0).averageMaxTemp()); 
+        assertEquals(16.5, trends.get(0).averageMinTemp());
+        assertEquals(28, trends.get(0).highestMaxTemp());
+        assertEquals(15, trends.get(0).lowestMinTemp());
+        assertEquals(2, trends.get(0).forecastDays());
+    }
+
+    @Test
+    void getWeatherTrends_computedOncePerSnapshot() {
+        WeatherData withoutForecast = new WeatherData();
+        withoutForecast.setDistrictName("Test District");
+        stubWeatherFeed(new WeatherData[]{withoutForecast});
+
+        List<WeatherTrend> trends = weatherService.getWeatherTrends();
+
+        assertSame(trends, weatherService.getWeatherTrends());
+        assertEquals(new WeatherTrend("Test District", 0.0, 0.0, 0, 0, 0), trends.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> trends.remove(0));
     }
 
     @Test
@@ -85,20 +141,18 @@ class WeatherServiceTest {
 
         mockWeatherData.setForecast(List.of(forecast1, forecast2));
 
-        when(restTemplate.getForObject(
-            "https://tourism.api.opendatahub.com/v1/Weather/District", WeatherData[].class
-        )).thenReturn(new WeatherData[]{mockWeatherData});
+        stubWeatherFeed(new WeatherData[]{mockWeatherData});
 
         UserPreferences preferences = new UserPreferences();
         preferences.setMinTemperature(16);
         preferences.setMaxTemperature(27);
 
-        List<Map<String, Object>> filteredTrends = weatherService.filterWeatherTrends(preferences);
+        List<WeatherTrend> filteredTrends = weatherService.filterWeatherTrends(preferences);
 
         assertEquals(1, filteredTrends.size());
-        assertEquals("Test District", filteredTrends.get(0).get("DistrictName"));
-        assertEquals(16.5, filteredTrends.get(0).get("AverageMinTemp"));
-        assertEquals(26.5, filteredTrends.get(0).get("AverageMaxTemp"));
+        assertEquals("Test District", filteredTrends.get(0).districtName());
+        assertEquals(16.5, filteredTrends.get(0).averageMinTemp());
+        assertEquals(26.5, filteredTrends.get(0).averageMaxTemp());
     }
 
     @Test
@@ -113,21 +167,19 @@ class WeatherServiceTest {
 
         mockWeatherData.setForecast(List.of(forecast));
 
-        when(restTemplate.getForObject(
-            "https://tourism.api.opendatahub.com/v1/Weather/District", WeatherData[].class
-        )).thenReturn(new WeatherData[]{mockWeatherData});
+        stubWeatherFeed(new WeatherData[]{mockWeatherData});
 
         UserPreferences preferences = new UserPreferences();
         preferences.setPreferredWeather("Clear sky");
         preferences.setMinTemperature(15);
         preferences.setMaxTemperature(30);
 
-        List<Map<String, Object>> recommendations = weatherService.getRecommendations(preferences);
+        List<WeatherRecommendation> recommendations = weatherService.getRecommendations(preferences);
 
         assertEquals(1, recommendations.size());
-        assertEquals("Test District", recommendations.get(0).get("DistrictName"));
-        assertEquals("Clear sky", recommendations.get(0).get("WeatherDesc"));
-        assertEquals("18 to 25", recommendations.get(0).get("TemperatureRange"));
+        assertEquals("Test District", recommendations.get(0).districtName());
+        assertEquals("Clear sky", recommendations.get(0).weatherDescription());
+        assertEquals("18 to 25", recommendations.get(0).temperatureRange());
     }
 
     @Test
@@ -142,19 +194,16 @@ class WeatherServiceTest {
 
         mockWeatherData.setForecast(List.of(forecast));
 
-        when(restTemplate.getForObject(
-            "https://tourism.api.opendatahub.com/v1/Weather/District", WeatherData[].class
-        )).thenReturn(new WeatherData[]{mockWeatherData});
+        stubWeatherFeed(new WeatherData[]{mockWeatherData});
 
         UserPreferences preferences = new UserPreferences();
         preferences.setPreferredWeather("Clear sky");
         preferences.setMinTemperature(15);
         preferences.setMaxTemperature(30);
 
-        List<Map<String, Object>> recommendations = weatherService.getRecommendations(preferences);
+        List<WeatherRecommendation> recommendations = weatherService.getRecommendations(preferences);
 
-        assertEquals(1, recommendations.size());
-        assertEquals("No matching recommendations found for your preferences.", recommendations.get(0).get("message"));
+        assertTrue(recommendations.isEmpty());
     }
 
 
@@ -174,9 +223,7 @@ class WeatherServiceTest {
 
     @Test
     void getWeatherData_emptyResponse() {
-        when(restTemplate.getForObject(
-            "https://tourism.api.opendatahub.com/v1/Weather/District", WeatherData[].class
-        )).thenReturn(new WeatherData[]{});
+        stubWeatherFeed(new WeatherData[]{});
 
         WeatherData[] weatherData = weatherService.getWeatherData();
 
@@ -200,15 +247,13 @@ class WeatherServiceTest {
 
         mockWeatherData.setForecast(List.of(forecast1, forecast2));
 
-        when(restTemplate.getForObject(
-            "https://tourism.api.opendatahub.com/v1/Weather/District", WeatherData[].class
-        )).thenReturn(new WeatherData[]{mockWeatherData});
+        stubWeatherFeed(new WeatherData[]{mockWeatherData});
 
         UserPreferences preferences = new UserPreferences();
         preferences.setMinTemperature(20);
         preferences.setMaxTemperature(30);
 
-        List<Map<String, Object>> filteredTrends = weatherService.filterWeatherTrends(preferences);
+        List<WeatherTrend> filteredTrends = weatherService.filterWeatherTrends(preferences);
 
         assertEquals(0, filteredTrends.size());
     }
@@ -225,21 +270,19 @@ class WeatherServiceTest {
 
         mockWeatherData.setForecast(List.of(forecast));
 
-        when(restTemplate.getForObject(
-            "https://tourism.api.opendatahub.com/v1/Weather/District", WeatherData[].class
-        )).thenReturn(new WeatherData[]{mockWeatherData});
+        stubWeatherFeed(new WeatherData[]{mockWeatherData});
 
         UserPreferences preferences = new UserPreferences();
         preferences.setPreferredWeather("Clear sky");
         preferences.setMinTemperature(20);
         preferences.setMaxTemperature(30);
 
-        List<Map<String, Object>> recommendations = weatherService.getRecommendations(preferences);
+        List<WeatherRecommendation> recommendations = weatherService.getRecommendations(preferences);
 
         assertEquals(1, recommendations.size());
-        assertEquals("Test District", recommendations.get(0).get("DistrictName"));
-        assertEquals("Clear sky", recommendations.get(0).get("WeatherDesc"));
-        assertEquals("20 to 30", recommendations.get(0).get("TemperatureRange"));
+        assertEquals("Test District", recommendations.get(0).districtName());
+        assertEquals("Clear sky", recommendations.get(0).weatherDescription());
+        assertEquals("20 to 30", recommendations.get(0).temperatureRange());
     }
 
     @Test
@@ -250,9 +293,7 @@ class WeatherServiceTest {
         WeatherData mockWeatherData2 = new WeatherData();
         mockWeatherData2.setDistrictName("District 2");
 
-        when(restTemplate.getForObject(
-            "https://tourism.api.opendatahub.com/v1/Weather/District", WeatherData[].class
-        )).thenReturn(new WeatherData[]{mockWeatherData1, mockWeatherData2});
+        stubWeatherFeed(new WeatherData[]{mockWeatherData1, mockWeatherData2});
 
         WeatherData[] weatherData = weatherService.getWeatherData();
 
@@ -279,22 +320,20 @@ class WeatherServiceTest {
 
         mockWeatherData.setForecast(List.of(forecast1, forecast2));
 
-        when(restTemplate.getForObject(
-            "https://tourism.api.opendatahub.com/v1/Weather/District", WeatherData[].class
-        )).thenReturn(new WeatherData[]{mockWeatherData});
+        stubWeatherFeed(new WeatherData[]{mockWeatherData});
 
         UserPreferences preferences = new UserPreferences();
         preferences.setPreferredWeather("Partly cloudy");
         preferences.setMinTemperature(15);
         preferences.setMaxTemperature(30);
 
-        List<Map<String, Object>> recommendations = weatherService.getRecommendations(preferences);
+        List<WeatherRecommendation> recommendations = weatherService.getRecommendations(preferences);
 
         assertEquals(1, recommendations.size());
-        assertEquals("Test District", recommendations.get(0).get("DistrictName"));
-        assertEquals("Partly cloudy", recommendations.get(0).get("WeatherDesc"));
-        assertEquals("18 to 25", recommendations.get(0).get("TemperatureRange"));
-        assertEquals("1", recommendations.get(0).get("Day"));
+        assertEquals("Test District", recommendations.get(0).districtName());
+        assertEquals("Partly cloudy", recommendations.get(0).weatherDescription());
+        assertEquals("18 to 25", recommendations.get(0).temperatureRange());
+        assertEquals("1", recommendations.get(0).day());
     }
 
     @Test
@@ -309,19 +348,16 @@ class WeatherServiceTest {
 
         mockWeatherData.setForecast(List.of(forecast));
 
-        when(restTemplate.getForObject(
-            "https://tourism.api.opendatahub.com/v1/Weather/District", WeatherData[].class
-        )).thenReturn(new WeatherData[]{mockWeatherData});
+        stubWeatherFeed(new WeatherData[]{mockWeatherData});
 
         UserPreferences preferences = new UserPreferences();
         preferences.setPreferredWeather("Sunny");
         preferences.setMinTemperature(10);
         preferences.setMaxTemperature(30);
 
-        List<Map<String, Object>> recommendations = weatherService.getRecommendations(preferences);
+        List<WeatherRecommendation> recommendations = weatherService.getRecommendations(preferences);
 
-        assertEquals(1, recommendations.size());
-        assertEquals("No matching recommendations found for your preferences.", recommendations.get(0).get("message"));
+        assertTrue(recommendations.isEmpty());
     }
 
     
@@ -341,15 +377,13 @@ class WeatherServiceTest {
 
         mockWeatherData.setForecast(List.of(forecast1, forecast2));
 
-        when(restTemplate.getForObject(
-            "https://tourism.api.opendatahub.com/v1/Weather/District", WeatherData[].class
-        )).thenReturn(new WeatherData[]{mockWeatherData});
+        stubWeatherFeed(new WeatherData[]{mockWeatherData});
 
         UserPreferences preferences = new UserPreferences();
         preferences.setMinTemperature(19);
         preferences.setMaxTemperature(30);
 
-        List<Map<String, Object>> filteredTrends = weatherService.filterWeatherTrends(preferences);
+        List<WeatherTrend> filteredTrends = weatherService.filterWeatherTrends(preferences);
 
         assertEquals(0, filteredTrends.size());
     }